@@ -0,0 +1,17 @@
+-- 待办逾期扫描升级脚本
+-- 逾期扫描给截止时间已过且未完成的待办写入逾期时间 overdue_at（状态保持不变），每项只标记和通知一次；
+-- 截止时间延后到未来时清空。多节点部署时通过租约表保证只有一个节点执行
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(50) PRIMARY KEY COMMENT '定时任务名称',
+    owner VARCHAR(150) NOT NULL COMMENT '持有租约的节点',
+    expires_at DATETIME NOT NULL COMMENT '租约到期时间',
+    updated_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='定时任务租约表';
+
+ALTER TABLE todos
+    ADD COLUMN overdue_at TIMESTAMP NULL DEFAULT NULL COMMENT '标记逾期的时间，截止时间延后到未来时清空';
+
+-- 扫描沿 (status, overdue_at, due_date, id) 键集分批读取：只访问各未完成状态中尚未标记的行，
+-- InnoDB二级索引隐含主键id
+CREATE INDEX idx_status_overdue_due ON todos(status, overdue_at, due_date);
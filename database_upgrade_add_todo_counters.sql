@@ -0,0 +1,21 @@
+-- 待办计数表升级脚本
+-- 按项目、分配人维护各状态的待办数量，由待办写入在同一事务内增量更新，统计接口按主键直接读取
+-- 回填语句需在停止写入时执行，否则执行期间的写入会重复计数或漏计
+
+CREATE TABLE IF NOT EXISTS todo_counters (
+    scope_type VARCHAR(16) NOT NULL COMMENT '统计范围：project-项目，assignee-分配人',
+    scope_id BIGINT NOT NULL COMMENT '项目ID或分配人ID',
+    status VARCHAR(20) NOT NULL COMMENT '待办状态',
+    todo_count BIGINT NOT NULL DEFAULT 0 COMMENT '待办数量',
+    updated_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (scope_type, scope_id, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='待办状态计数表';
+
+-- 回填现有数据
+INSERT INTO todo_counters (scope_type, scope_id, status, todo_count)
+SELECT 'project', project_id, status, COUNT(*) FROM todos GROUP BY project_id, status
+ON DUPLICATE KEY UPDATE todo_count = VALUES(todo_count);
+
+INSERT INTO todo_counters (scope_type, scope_id, status, todo_count)
+SELECT 'assignee', assignee_id, status, COUNT(*) FROM todos WHERE assignee_id IS NOT NULL GROUP BY assignee_id, status
+ON DUPLICATE KEY UPDATE todo_count = VALUES(todo_count);
@@ -0,0 +1,6 @@
+-- 待办全文搜索升级脚本
+-- 在标题和描述上建立使用ngram分词器的全文索引（InnoDB倒排索引），中文按连续2字切分，
+-- 待办写入时由InnoDB随事务同步维护，无需应用层更新。
+-- 分词长度由服务端参数 ngram_token_size 控制（默认2），搜索关键字至少需要该长度。
+
+ALTER TABLE todos ADD FULLTEXT INDEX ft_title_description (title, description) WITH PARSER ngram;
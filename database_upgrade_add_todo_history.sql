@@ -0,0 +1,15 @@
+-- 待办变更历史升级脚本
+-- 每次待办写入按字段记录变化（只追加），由应用后台分批写入，按待办游标分页查询
+
+CREATE TABLE IF NOT EXISTS todo_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '历史ID',
+    todo_id BIGINT NOT NULL COMMENT '待办ID',
+    project_id BIGINT COMMENT '待办所属项目ID',
+    action VARCHAR(20) NOT NULL COMMENT '变更类型：CREATED-新建，UPDATED-修改，DELETED-删除',
+    field VARCHAR(50) COMMENT '修改的字段名，新建和删除时为空',
+    old_value TEXT COMMENT '修改前的值',
+    new_value TEXT COMMENT '修改后的值',
+    operator_id BIGINT COMMENT '操作人ID（系统任务为空）',
+    created_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '变更时间',
+    INDEX idx_todo_id (todo_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='待办变更历史表';
@@ -0,0 +1,4 @@
+-- 待办游标分页索引升级脚本
+-- 与列表排序键 (start_time, created_time, id) 一致，游标分页按索引顺序定位，无需OFFSET扫描
+
+CREATE INDEX idx_start_created ON todos(start_time, created_time, id);
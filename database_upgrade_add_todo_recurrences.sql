@@ -0,0 +1,40 @@
+-- 重复待办升级脚本
+-- 重复规则保存在 todo_recurrences，生成任务按规则提前生成待办；
+-- 生成的待办记录规则ID和对应日期，(recurrence_id, occurrence_date) 唯一，重复执行不会重复生成
+
+CREATE TABLE IF NOT EXISTS todo_recurrences (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '规则ID',
+    title VARCHAR(200) NOT NULL COMMENT '待办标题',
+    description TEXT COMMENT '待办描述',
+    priority VARCHAR(20) NOT NULL DEFAULT 'medium' COMMENT '优先级：low-低，medium-中，high-高',
+    project_id BIGINT NOT NULL COMMENT '所属项目ID',
+    assignee_id BIGINT COMMENT '分配给的用户ID',
+    creator_id BIGINT NOT NULL COMMENT '创建人ID',
+    frequency VARCHAR(20) NOT NULL COMMENT '重复频率：daily-每天，weekly-每周，monthly-每月',
+    interval_value INT NOT NULL DEFAULT 1 COMMENT '每隔几天/周/月',
+    days_of_week VARCHAR(20) COMMENT '每周重复的星期（1-7，逗号分隔）',
+    day_of_month TINYINT COMMENT '每月几号（超过当月天数时取月末）',
+    start_time_of_day TIME NOT NULL DEFAULT '09:00:00' COMMENT '每次待办的开始时刻',
+    due_time_of_day TIME NOT NULL DEFAULT '23:59:59' COMMENT '每次待办的截止时刻',
+    start_date DATE NOT NULL COMMENT '规则开始日期',
+    end_date DATE COMMENT '规则结束日期，为空表示不结束',
+    generated_until DATE NOT NULL COMMENT '已生成到的日期（含）',
+    enabled TINYINT(1) NOT NULL DEFAULT 1 COMMENT '是否启用',
+    created_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_enabled_generated (enabled, generated_until),
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    FOREIGN KEY (assignee_id) REFERENCES users(id) ON DELETE SET NULL,
+    FOREIGN KEY (creator_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='重复待办规则表';
+
+ALTER TABLE todos
+    ADD COLUMN recurrence_id BIGINT NULL COMMENT '生成该待办的重复规则ID',
+    ADD COLUMN occurrence_date DATE NULL COMMENT '重复规则对应的日期',
+    ADD UNIQUE KEY uk_recurrence_occurrence (recurrence_id, occurrence_date);
+
+-- 归档表与 todos 保持相同的列
+ALTER TABLE todos_archive
+    ADD COLUMN recurrence_id BIGINT NULL COMMENT '生成该待办的重复规则ID',
+    ADD COLUMN occurrence_date DATE NULL COMMENT '重复规则对应的日期',
+    ADD INDEX idx_recurrence_occurrence (recurrence_id, occurrence_date);
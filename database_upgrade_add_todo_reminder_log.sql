@@ -0,0 +1,14 @@
+-- 待办到期提醒升级脚本
+-- 提醒由应用内存时间轮调度，发送前写入该表去重，多节点部署或重启后同一截止时间只提醒一次
+
+CREATE TABLE IF NOT EXISTS todo_reminder_log (
+    todo_id BIGINT NOT NULL COMMENT '待办ID',
+    due_date TIMESTAMP NOT NULL COMMENT '提醒对应的截止时间',
+    created_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '提醒时间',
+    PRIMARY KEY (todo_id, due_date),
+    INDEX idx_created_time (created_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='待办到期提醒记录表';
+
+-- 到期提醒由系统发出，不归属任何用户，发送者ID允许为空
+ALTER TABLE notifications
+    MODIFY COLUMN sender_id BIGINT NULL COMMENT '发送者ID（管理员ID，系统通知为空）';
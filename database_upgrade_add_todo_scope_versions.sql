@@ -0,0 +1,11 @@
+-- 待办范围变更版本升级脚本
+-- 按项目、分配人记录变更版本号，由待办写入和归档在同一事务内加一；
+-- 待办列表ETag由范围版本号和查询条件计算，不再扫描列表命中的数据行。没有记录的范围版本号按0处理，无需回填
+
+CREATE TABLE IF NOT EXISTS todo_scope_versions (
+    scope_type VARCHAR(16) NOT NULL COMMENT '范围：project-项目，assignee-分配人',
+    scope_id BIGINT NOT NULL COMMENT '项目ID或分配人ID',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '变更版本号',
+    updated_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (scope_type, scope_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='待办范围变更版本表';
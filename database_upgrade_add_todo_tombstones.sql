@@ -0,0 +1,17 @@
+-- 待办增量同步升级脚本
+-- 增量同步按 (updated_time, id) 水位读取新增和修改的待办，删除的待办通过墓碑表返回
+
+CREATE TABLE IF NOT EXISTS todo_tombstones (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '墓碑ID（同步水位）',
+    todo_id BIGINT NOT NULL COMMENT '待办ID',
+    project_id BIGINT COMMENT '待办所属项目ID',
+    assignee_id BIGINT COMMENT '移出时的分配人ID',
+    reason VARCHAR(20) NOT NULL DEFAULT 'deleted' COMMENT '原因：deleted-已删除，reassigned-已重新分配给他人',
+    created_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '记录时间',
+    INDEX idx_assignee_id (assignee_id, id),
+    INDEX idx_created_time (created_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='待办删除墓碑表';
+
+-- 增量同步按修改时间水位读取
+CREATE INDEX idx_updated_id ON todos(updated_time, id);
+CREATE INDEX idx_assignee_updated_id ON todos(assignee_id, updated_time, id);
@@ -0,0 +1,4 @@
+-- 待办乐观锁升级脚本
+-- 每次更新版本号加一，更新时校验读取时的版本号，并发修改时后提交的一方更新失败并提示刷新重试
+
+ALTER TABLE todos ADD COLUMN version INT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）' AFTER due_date;
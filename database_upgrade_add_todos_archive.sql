@@ -0,0 +1,13 @@
+-- 已完成待办归档升级脚本
+-- 完成已久的待办由归档任务移入 todos_archive，活跃表只保留近期数据；
+-- 列表和详情接口传 includeArchived=true 时才查询归档表
+
+-- 结构和索引与 todos 一致（不复制外键，项目或用户删除后归档数据保留）
+CREATE TABLE IF NOT EXISTS todos_archive LIKE todos;
+
+ALTER TABLE todos_archive
+    ADD COLUMN archived_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+    COMMENT = '已归档待办事项表';
+
+-- 归档任务按 (status, updated_time) 选取已完成且完成已久的待办
+CREATE INDEX idx_status_updated ON todos(status, updated_time);
@@ -0,0 +1,27 @@
+-- 待办日期重叠查询索引升级脚本
+-- 日视图条件改写为 start_time <= 当天结束 AND due_date >= 当天开始，不再使用无法走索引的OR条件。
+-- 该条件要求开始时间和截止时间都不为空，先按创建待办时的默认规则回填，再改为NOT NULL。
+
+-- 回填缺失的开始时间（创建当天9:00）和截止时间（开始当天23:59:59）
+UPDATE todos SET start_time = TIMESTAMP(DATE(created_time), '09:00:00') WHERE start_time IS NULL;
+UPDATE todos SET due_date = TIMESTAMP(DATE(start_time), '23:59:59') WHERE due_date IS NULL;
+
+ALTER TABLE todos
+    MODIFY COLUMN start_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '开始时间',
+    MODIFY COLUMN due_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '截止日期';
+
+-- 按访问路径建立复合索引：
+-- 日视图条件中 start_time <= 当天结束 对历史数据几乎没有选择性（所有已开始的任务都满足），
+-- 而 due_date >= 当天开始 只命中当天及以后到期的少量任务，因此复合索引以 due_date 作为范围列，
+-- start_time 放在最后于索引内过滤。
+-- 普通用户日视图：assignee_id 等值 + due_date 范围
+CREATE INDEX idx_assignee_due_start ON todos(assignee_id, due_date, start_time);
+-- 项目日视图：project_id 等值 + due_date 范围
+CREATE INDEX idx_project_due_start ON todos(project_id, due_date, start_time);
+-- 管理员日视图及日历统计：due_date 范围，替换以 start_time 开头的 idx_date_range
+CREATE INDEX idx_due_start ON todos(due_date, start_time);
+DROP INDEX idx_date_range ON todos;
+-- idx_due_date(due_date) 是 idx_due_start 的前缀，保留会与之竞争且增加写入开销
+DROP INDEX idx_due_date ON todos;
+-- 按状态筛选：status 等值 + due_date 范围
+CREATE INDEX idx_status_due ON todos(status, due_date);
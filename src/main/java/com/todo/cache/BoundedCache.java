@@ -0,0 +1,145 @@
+package com.todo.cache;
+
+import com.todo.vo.CacheStatsVo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 有界本地缓存
+ * 按访问顺序淘汰最久未使用的条目，可选过期时间，并统计命中、未命中和淘汰次数。
+ * 所有操作在同一把锁内完成，适合条目数在万级、单次操作很短的场景。
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+
+    private final int maxSize;
+
+    /**
+     * 过期时间（毫秒），0表示不过期
+     */
+    private final long ttlMillis;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    public BoundedCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0：" + name);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 读取缓存，不存在或已过期时返回null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            evictionCount++;
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * 读取缓存但不计入命中统计，不存在或已过期时返回null
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        long expireAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        entries.put(key, new Entry<>(value, expireAt));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * 当前所有未过期条目的值（快照）
+     */
+    public synchronized List<V> values() {
+        long now = System.currentTimeMillis();
+        List<V> values = new ArrayList<>(entries.size());
+        for (Entry<V> entry : entries.values()) {
+            if (!entry.isExpired(now)) {
+                values.add(entry.value);
+            }
+        }
+        return values;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获取统计信息快照
+     */
+    public synchronized CacheStatsVo stats() {
+        CacheStatsVo statsVo = new CacheStatsVo();
+        statsVo.setName(name);
+        statsVo.setSize(entries.size());
+        statsVo.setMaxSize(maxSize);
+        statsVo.setHitCount(hitCount);
+        statsVo.setMissCount(missCount);
+        statsVo.setEvictionCount(evictionCount);
+        long requests = hitCount + missCount;
+        statsVo.setHitRate(requests == 0 ? 0.0 : (double) hitCount / requests);
+        return statsVo;
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
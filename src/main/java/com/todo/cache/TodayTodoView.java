@@ -0,0 +1,226 @@
+package com.todo.cache;
+
+import com.todo.config.SchedulingConfig;
+import com.todo.entity.Todo;
+import com.todo.event.TodoChangedEvent;
+import com.todo.utils.EntityVoConverter;
+import com.todo.vo.CacheStatsVo;
+import com.todo.vo.TodoVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 今日待办内存视图
+ * 按用户保存“今天”的待办列表（普通用户为分配给自己的待办，管理员为全部待办），
+ * 首次访问时从数据库加载，之后由待办写入事务提交后的变更事件原地更新，零点清空后重新加载。
+ * 最大存活时间用于兜底其他节点的写入。
+ */
+@Slf4j
+@Component
+public class TodayTodoView {
+
+    /**
+     * 管理员视图的键（全部待办）
+     */
+    private static final String ALL_KEY = "all";
+
+    /**
+     * 单条待办的固定内存估算（对象头、字段和时间对象），文本按字符另计
+     */
+    private static final long TODO_BASE_BYTES = 400;
+
+    private static final Comparator<TodoVo> LIST_ORDER = Comparator
+            .comparing(TodoVo::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TodoVo::getCreatedTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TodoVo::getId);
+
+    private final BoundedCache<String, View> views;
+
+    /**
+     * 变更计数，用于丢弃加载期间发生过变更的结果
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * 业务时钟，"今天"与零点清空的 cron 使用同一时区
+     */
+    private final Clock clock;
+
+    public TodayTodoView(@Value("${todo.cache.today.max-views:5000}") int maxViews,
+                         @Value("${todo.cache.today.max-age-seconds:300}") long maxAgeSeconds,
+                         Clock clock) {
+        this.views = new BoundedCache<>("todayView", maxViews, maxAgeSeconds * 1000);
+        this.clock = clock;
+    }
+
+    /**
+     * 获取今日待办，视图不存在或已跨天时调用loader从数据库加载
+     *
+     * @param assigneeId 普通用户的ID，管理员传null表示全部待办
+     * @param loader     加载今日待办（已按列表顺序排序）
+     */
+    public List<TodoVo> get(Long assigneeId, Supplier<List<TodoVo>> loader) {
+        String key = keyOf(assigneeId);
+        LocalDate today = LocalDate.now(clock);
+        View view = views.get(key);
+        if (view != null && view.date.equals(today)) {
+            return view.list();
+        }
+
+        long version = changes.get();
+        List<TodoVo> loaded = loader.get();
+        if (changes.get() == version && today.equals(LocalDate.now(clock))) {
+            views.put(key, new View(today, assigneeId, loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * 获取已加载视图的版本标识（视图重建或内容变化后改变），视图未加载或已跨天时返回null
+     */
+    public String getVersion(Long assigneeId) {
+        View view = views.peek(keyOf(assigneeId));
+        if (view == null || !view.date.equals(LocalDate.now(clock))) {
+            return null;
+        }
+        return view.version();
+    }
+
+    private String keyOf(Long assigneeId) {
+        return assigneeId != null ? "user:" + assigneeId : ALL_KEY;
+    }
+
+    /**
+     * 待办写入事务提交后，原地更新已加载的视图
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        changes.incrementAndGet();
+        TodoVo after = event.getAfter() != null ? EntityVoConverter.convertToTodoVo(event.getAfter()) : null;
+        for (View view : views.values()) {
+            view.apply(event.getTodoId(), after);
+        }
+    }
+
+    /**
+     * 每天零点（业务时区）清空，下次访问时按新的日期重新加载
+     */
+    @Scheduled(cron = "0 0 0 * * ?", zone = SchedulingConfig.ZONE)
+    public void clearAtMidnight() {
+        changes.incrementAndGet();
+        views.clear();
+        log.info("今日待办视图已清空");
+    }
+
+    public CacheStatsVo stats() {
+        CacheStatsVo statsVo = views.stats();
+        long bytes = 0;
+        for (View view : views.values()) {
+            bytes += view.estimatedBytes();
+        }
+        statsVo.setEstimatedBytes(bytes);
+        return statsVo;
+    }
+
+    /**
+     * 单个用户（或管理员）的今日视图
+     */
+    private static class View {
+
+        private final LocalDate date;
+
+        private final LocalDateTime dayStart;
+
+        private final LocalDateTime dayEnd;
+
+        private final Long assigneeId;
+
+        private final Map<Long, TodoVo> todos = new HashMap<>();
+
+        private final long builtAt = System.currentTimeMillis();
+
+        /**
+         * 内容变化次数
+         */
+        private long revision;
+
+        /**
+         * 排序后的列表，变更后置空，下次读取时重新排序
+         */
+        private List<TodoVo> sorted;
+
+        private View(LocalDate date, Long assigneeId, List<TodoVo> loaded) {
+            this.date = date;
+            this.dayStart = date.atStartOfDay();
+            this.dayEnd = date.atTime(23, 59, 59);
+            this.assigneeId = assigneeId;
+            for (TodoVo todoVo : loaded) {
+                todos.put(todoVo.getId(), todoVo);
+            }
+        }
+
+        private synchronized List<TodoVo> list() {
+            if (sorted == null) {
+                sorted = new ArrayList<>(todos.values());
+                sorted.sort(LIST_ORDER);
+            }
+            return new ArrayList<>(sorted);
+        }
+
+        /**
+         * 应用一条待办的变更：after为null表示删除，不再属于该视图时移除
+         */
+        private synchronized void apply(Long todoId, TodoVo after) {
+            boolean changed = todos.remove(todoId) != null;
+            if (after != null && belongs(after)) {
+                todos.put(todoId, after);
+                changed = true;
+            }
+            if (changed) {
+                sorted = null;
+                revision++;
+            }
+        }
+
+        private synchronized String version() {
+            return builtAt + "-" + revision;
+        }
+
+        /**
+         * 与列表查询条件一致：在用户范围内，且时间区间与当天有重叠
+         */
+        private boolean belongs(TodoVo todoVo) {
+            if (assigneeId != null && !Objects.equals(assigneeId, todoVo.getAssigneeId())) {
+                return false;
+            }
+            return todoVo.getStartTime() != null && todoVo.getDueDate() != null
+                    && !todoVo.getStartTime().isAfter(dayEnd)
+                    && !todoVo.getDueDate().isBefore(dayStart);
+        }
+
+        private synchronized long estimatedBytes() {
+            long bytes = 0;
+            for (TodoVo todoVo : todos.values()) {
+                bytes += TODO_BASE_BYTES;
+                bytes += todoVo.getTitle() != null ? 2L * todoVo.getTitle().length() : 0;
+                bytes += todoVo.getDescription() != null ? 2L * todoVo.getDescription().length() : 0;
+            }
+            return bytes;
+        }
+    }
+}
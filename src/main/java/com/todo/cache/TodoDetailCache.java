@@ -0,0 +1,78 @@
+package com.todo.cache;
+
+import com.todo.event.TodoChangedEvent;
+import com.todo.event.TodosArchivedEvent;
+import com.todo.vo.CacheStatsVo;
+import com.todo.vo.TodoVo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 待办详情缓存
+ * 缓存 TodoMapper.getTodoDetail 的联表查询结果，待办写入事务提交后由变更事件失效。
+ * 提交后再失效，保证失效之后的加载一定读到新数据；加载期间发生的失效会丢弃本次加载结果。
+ * 过期时间用于兜底其他节点的写入。
+ */
+@Component
+public class TodoDetailCache {
+
+    private final BoundedCache<Long, TodoVo> cache;
+
+    /**
+     * 失效计数，用于丢弃加载期间已被失效的结果，避免旧数据回填
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TodoDetailCache(@Value("${todo.cache.detail.max-size:10000}") int maxSize,
+                           @Value("${todo.cache.detail.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = new BoundedCache<>("todoDetail", maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * 读取详情，未命中时调用loader加载并写入缓存
+     */
+    public TodoVo get(Long todoId, Function<Long, TodoVo> loader) {
+        TodoVo cached = cache.get(todoId);
+        if (cached != null) {
+            return cached;
+        }
+        long version = invalidations.get();
+        TodoVo loaded = loader.apply(todoId);
+        if (loaded != null && invalidations.get() == version) {
+            cache.put(todoId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 待办变更后失效
+     */
+    public void invalidate(Long todoId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(todoId);
+    }
+
+    /**
+     * 待办写入事务提交后失效
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        invalidate(event.getTodoId());
+    }
+
+    /**
+     * 归档批次提交后失效
+     */
+    @TransactionalEventListener
+    public void onTodosArchived(TodosArchivedEvent event) {
+        event.getTodoIds().forEach(this::invalidate);
+    }
+
+    public CacheStatsVo stats() {
+        return cache.stats();
+    }
+}
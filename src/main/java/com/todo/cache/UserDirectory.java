@@ -0,0 +1,115 @@
+package com.todo.cache;
+
+import com.todo.entity.User;
+import com.todo.mapper.UserMapper;
+import com.todo.vo.CacheStatsVo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 用户目录
+ * 缓存 id -> 用户名/姓名/头像/权限，替代写路径和通知中的逐个 selectById。
+ * 注册、修改个人信息时刷新，过期时间用于兜底其他节点的修改。
+ */
+@Component
+public class UserDirectory {
+
+    @Autowired
+    private UserMapper userMapper;
+
+    private final BoundedCache<Long, UserSummary> cache;
+
+    public UserDirectory(@Value("${todo.cache.user.max-size:10000}") int maxSize,
+                         @Value("${todo.cache.user.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedCache<>("userDirectory", maxSize, ttlSeconds * 1000);
+    }
+
+    /**
+     * 获取单个用户，不存在时返回null
+     */
+    public UserSummary get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return getAll(Collections.singletonList(userId)).get(userId);
+    }
+
+    /**
+     * 批量获取用户，未命中的用户一次查询加载；不存在的用户不出现在结果中
+     */
+    public Map<Long, UserSummary> getAll(Collection<Long> userIds) {
+        Map<Long, UserSummary> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null || result.containsKey(userId)) {
+                continue;
+            }
+            UserSummary summary = cache.get(userId);
+            if (summary != null) {
+                result.put(userId, summary);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (User user : userMapper.selectBatchIds(missing)) {
+                UserSummary summary = UserSummary.of(user);
+                cache.put(user.getId(), summary);
+                result.put(user.getId(), summary);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取用户名，用户不存在时返回默认值
+     */
+    public String getUsername(Long userId, String defaultName) {
+        UserSummary summary = get(userId);
+        return summary != null ? summary.getUsername() : defaultName;
+    }
+
+    /**
+     * 过滤出存在的用户ID，保持原有顺序并去重
+     */
+    public List<Long> filterExisting(Collection<Long> userIds) {
+        Map<Long, UserSummary> users = getAll(userIds);
+        Set<Long> existing = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (users.containsKey(userId)) {
+                existing.add(userId);
+            }
+        }
+        return new ArrayList<>(existing);
+    }
+
+    /**
+     * 用户新增或信息变更后刷新
+     */
+    public void refresh(User user) {
+        Objects.requireNonNull(user.getId(), "用户ID不能为空");
+        cache.put(user.getId(), UserSummary.of(user));
+    }
+
+    /**
+     * 用户信息变更后失效，下次访问重新加载
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public CacheStatsVo stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,141 @@
+package com.todo.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.todo.entity.User;
+import com.todo.mapper.UserMapper;
+import com.todo.utils.EntityVoConverter;
+import com.todo.vo.UserVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 按权限分组的用户名册
+ * 保存全部用户（不含密码）按 auth 分组的只读快照，替代每次按 auth 过滤 users 表的全表扫描。
+ * 注册用户、权限或资料变更时失效，下次访问时重建；超过最大存活时间也会重建，兜底其他节点的修改。
+ */
+@Slf4j
+@Component
+public class UserRoster {
+
+    @Autowired
+    private UserMapper userMapper;
+
+    private final long maxAgeMillis;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 失效代数，重建期间发生的失效会使本次重建结果立即过期
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserRoster(@Value("${todo.cache.roster.max-age-seconds:600}") long maxAgeSeconds) {
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+    }
+
+    /**
+     * 获取指定权限的全部用户
+     */
+    public List<UserVo> getUsersByAuth(String auth) {
+        List<UserVo> users = current().usersByAuth.get(auth);
+        return users != null ? users : Collections.emptyList();
+    }
+
+    /**
+     * 获取指定权限的全部用户ID
+     */
+    public List<Long> getUserIdsByAuth(String auth) {
+        List<Long> userIds = current().userIdsByAuth.get(auth);
+        return userIds != null ? userIds : Collections.emptyList();
+    }
+
+    /**
+     * 当前快照的标识，快照重建后变化，可作为用户列表的校验值
+     */
+    public String getSnapshotVersion() {
+        Snapshot current = current();
+        return current.generation + "-" + current.builtAt;
+    }
+
+    /**
+     * 用户新增、权限或资料变更后失效
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (isValid(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (!isValid(current)) {
+                current = build();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isValid(Snapshot current) {
+        return current != null
+                && current.generation == generation.get()
+                && System.currentTimeMillis() - current.builtAt < maxAgeMillis;
+    }
+
+    private Snapshot build() {
+        long buildGeneration = generation.get();
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "username", "auth", "real_name", "avatar", "created_time", "updated_time");
+        queryWrapper.orderByAsc("id");
+        List<User> users = userMapper.selectList(queryWrapper);
+
+        Map<String, List<UserVo>> usersByAuth = new HashMap<>();
+        for (User user : users) {
+            usersByAuth.computeIfAbsent(user.getAuth(), auth -> new ArrayList<>())
+                       .add(EntityVoConverter.convertToUserVo(user));
+        }
+
+        Map<String, List<UserVo>> readOnlyUsers = new HashMap<>();
+        Map<String, List<Long>> readOnlyIds = new HashMap<>();
+        for (Map.Entry<String, List<UserVo>> entry : usersByAuth.entrySet()) {
+            readOnlyUsers.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            readOnlyIds.put(entry.getKey(), Collections.unmodifiableList(entry.getValue().stream()
+                    .map(UserVo::getId)
+                    .collect(Collectors.toList())));
+        }
+        log.debug("用户名册已重建，用户数: {}", users.size());
+        return new Snapshot(readOnlyUsers, readOnlyIds, buildGeneration, System.currentTimeMillis());
+    }
+
+    private static class Snapshot {
+
+        private final Map<String, List<UserVo>> usersByAuth;
+
+        private final Map<String, List<Long>> userIdsByAuth;
+
+        private final long generation;
+
+        private final long builtAt;
+
+        private Snapshot(Map<String, List<UserVo>> usersByAuth, Map<String, List<Long>> userIdsByAuth,
+                         long generation, long builtAt) {
+            this.usersByAuth = usersByAuth;
+            this.userIdsByAuth = userIdsByAuth;
+            this.generation = generation;
+            this.builtAt = builtAt;
+        }
+    }
+}
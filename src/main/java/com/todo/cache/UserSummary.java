@@ -0,0 +1,36 @@
+package com.todo.cache;
+
+import com.todo.entity.User;
+import lombok.Data;
+
+/**
+ * 用户目录条目
+ * 只保存展示和权限判断需要的字段，不包含密码
+ */
+@Data
+public class UserSummary {
+
+    private Long id;
+
+    private String username;
+
+    private String realName;
+
+    private String avatar;
+
+    private String auth;
+
+    public static UserSummary of(User user) {
+        UserSummary summary = new UserSummary();
+        summary.setId(user.getId());
+        summary.setUsername(user.getUsername());
+        summary.setRealName(user.getRealName());
+        summary.setAvatar(user.getAvatar());
+        summary.setAuth(user.getAuth());
+        return summary;
+    }
+
+    public boolean isAdmin() {
+        return "admin".equals(auth);
+    }
+}
@@ -0,0 +1,17 @@
+package com.todo.common;
+
+/**
+ * 数据版本冲突异常
+ * 乐观锁校验失败时抛出，表示记录在读取后已被他人修改，客户端应刷新后重试
+ */
+public class VersionConflictException extends RuntimeException {
+
+    /**
+     * 版本冲突对应的响应码
+     */
+    public static final int CODE = 409;
+
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
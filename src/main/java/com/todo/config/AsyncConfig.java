@@ -0,0 +1,40 @@
+package com.todo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步任务配置
+ * 通知发送等耗时操作在独立的有界线程池中执行，不占用请求线程
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * 通知发送线程池
+     * 队列满时由提交线程执行，保证通知不丢失
+     */
+    @Bean("notificationExecutor")
+    public Executor notificationExecutor(
+            @Value("${todo.notification.executor.core-size:2}") int coreSize,
+            @Value("${todo.notification.executor.max-size:4}") int maxSize,
+            @Value("${todo.notification.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -23,6 +23,8 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 // 允许的请求头
                 .allowedHeaders("*")
+                // 允许前端读取ETag（条件请求）
+                .exposedHeaders("ETag")
                 // 是否允许发送Cookie
                 .allowCredentials(true)
                 // 预检请求的缓存时间（秒）
@@ -49,6 +51,9 @@ public class CorsConfig implements WebMvcConfigurer {
         // 允许的请求头
         configuration.addAllowedHeader("*");
         
+        // 允许前端读取ETag（条件请求）
+        configuration.addExposedHeader("ETag");
+        
         // 是否允许发送Cookie
         configuration.setAllowCredentials(true);
         
@@ -1,6 +1,7 @@
 package com.todo.config;
 
 import com.todo.common.Result;
+import com.todo.common.VersionConflictException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,6 +13,15 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
+    /**
+     * 处理数据版本冲突，返回409供客户端刷新后重试
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public Result<Object> handleVersionConflictException(VersionConflictException e) {
+        log.warn("版本冲突：{}", e.getMessage());
+        return Result.error(VersionConflictException.CODE, e.getMessage());
+    }
+    
     /**
      * 处理业务异常
      */
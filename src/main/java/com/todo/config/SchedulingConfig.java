@@ -0,0 +1,31 @@
+package com.todo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * 定时任务配置
+ * 定时任务的 cron 时区与业务计算"今天"使用的时钟取自同一配置，不依赖JVM默认时区
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * 业务时区，用于 @Scheduled 的 zone 属性（与数据库连接的 serverTimezone 保持一致）
+     */
+    public static final String ZONE = "${todo.zone:Asia/Shanghai}";
+
+    /**
+     * 业务时钟，按业务时区取当前日期和时间
+     */
+    @Bean
+    public Clock clock(@Value(ZONE) String zone) {
+        return Clock.system(ZoneId.of(zone));
+    }
+}
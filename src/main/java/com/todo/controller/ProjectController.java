@@ -6,10 +6,14 @@ import com.todo.dto.ProjectCreateRequestDto;
 import com.todo.dto.ProjectDetailQueryDto;
 import com.todo.dto.ProjectListQueryDto;
 import com.todo.service.ProjectService;
+import com.todo.utils.ETags;
 import com.todo.vo.OperationResultVo;
 import com.todo.vo.ProjectDetailVo;
 import com.todo.vo.ProjectVo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -34,9 +38,16 @@ public class ProjectController {
      * 获取项目列表
      */
     @PostMapping("/list")
-    public Result<List<ProjectVo>> getProjectList(@RequestBody ProjectListQueryDto queryDto) {
+    public ResponseEntity<Result<List<ProjectVo>>> getProjectList(
+            @RequestBody ProjectListQueryDto queryDto,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 列表未变化时直接返回304，不再执行联表查询和序列化
+        String etag = projectService.getProjectListETag(queryDto);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<ProjectVo> result = projectService.getProjectList(queryDto);
-        return Result.success(result);
+        return ResponseEntity.ok().eTag(etag).body(Result.success(result));
     }
     
     /**
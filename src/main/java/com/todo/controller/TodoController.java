@@ -1,15 +1,37 @@
 package com.todo.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.todo.common.Result;
+import com.todo.common.VersionConflictException;
 import com.todo.dto.*;
 import com.todo.service.TodoService;
+import com.todo.utils.ETags;
+import com.todo.vo.CacheStatsVo;
+import com.todo.vo.TodoCalendarDayVo;
+import com.todo.vo.TodoChangesVo;
+import com.todo.vo.TodoHistoryPageVo;
+import com.todo.vo.TodoPageVo;
+import com.todo.vo.TodoStatsVo;
 import com.todo.vo.TodoVo;
 import com.todo.vo.OperationResultVo;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/todo")
 @CrossOrigin(originPatterns = "*")
@@ -18,6 +40,9 @@ public class TodoController {
     @Autowired
     private TodoService todoService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * 创建待办事项
      */
@@ -31,6 +56,19 @@ public class TodoController {
         }
     }
     
+    /**
+     * 批量创建待办事项
+     */
+    @PostMapping("/batch/create")
+    public Result<List<Long>> batchCreateTodos(@RequestBody TodoBatchCreateDto batchCreateDto) {
+        try {
+            List<Long> todoIds = todoService.batchCreateTodos(batchCreateDto);
+            return Result.success("待办事项批量创建成功", todoIds);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
     /**
      * 更新待办事项
      */
@@ -39,6 +77,8 @@ public class TodoController {
         try {
             TodoVo todoVo = todoService.updateTodo(todoUpdateDto);
             return Result.success("待办事项更新成功", todoVo);
+        } catch (VersionConflictException e) {
+            return Result.error(VersionConflictException.CODE, e.getMessage());
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
@@ -70,6 +110,57 @@ public class TodoController {
         }
     }
     
+    /**
+     * 游标分页获取待办事项列表
+     */
+    @PostMapping("/page")
+    public Result<TodoPageVo> getTodoPage(@RequestBody TodoQueryDto queryDto) {
+        try {
+            TodoPageVo page = todoService.getTodoPage(queryDto);
+            return Result.success(page);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
+    /**
+     * 游标分页获取待办变更历史
+     */
+    @PostMapping("/history")
+    public Result<TodoHistoryPageVo> getTodoHistory(@RequestBody TodoHistoryQueryDto historyQueryDto) {
+        try {
+            TodoHistoryPageVo page = todoService.getTodoHistory(historyQueryDto);
+            return Result.success(page);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
+    /**
+     * 游标分页获取待办变更历史 (GET接口)
+     */
+    @GetMapping("/{todoId}/history")
+    public Result<TodoHistoryPageVo> getTodoHistoryById(
+            @PathVariable Long todoId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestHeader(value = "userId", required = false) Long userId,
+            @RequestHeader(value = "userAuth", required = false) String userAuth) {
+        try {
+            TodoHistoryQueryDto historyQueryDto = new TodoHistoryQueryDto();
+            historyQueryDto.setTodoId(todoId);
+            historyQueryDto.setCursor(cursor);
+            historyQueryDto.setPageSize(pageSize);
+            historyQueryDto.setUserId(userId);
+            historyQueryDto.setUserAuth(userAuth != null ? userAuth : "admin"); // 默认admin权限
+            
+            TodoHistoryPageVo page = todoService.getTodoHistory(historyQueryDto);
+            return Result.success(page);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
     /**
      * 获取待办详情
      */
@@ -91,6 +182,8 @@ public class TodoController {
         try {
             TodoVo todoVo = todoService.updateTodoStatus(statusUpdateDto);
             return Result.success("状态更新成功", todoVo);
+        } catch (VersionConflictException e) {
+            return Result.error(VersionConflictException.CODE, e.getMessage());
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
@@ -104,6 +197,47 @@ public class TodoController {
         try {
             TodoVo todoVo = todoService.adminUpdateTodo(adminUpdateDto);
             return Result.success("管理员修改成功", todoVo);
+        } catch (VersionConflictException e) {
+            return Result.error(VersionConflictException.CODE, e.getMessage());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 批量修改待办状态或分配人
+     */
+    @PutMapping("/batch/update")
+    public Result<OperationResultVo> bulkUpdateTodos(@RequestBody TodoBulkUpdateDto bulkUpdateDto) {
+        try {
+            OperationResultVo result = todoService.bulkUpdateTodos(bulkUpdateDto);
+            return Result.success(result.getMessage(), result);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取项目或用户的各状态待办数量
+     */
+    @PostMapping("/stats")
+    public Result<List<TodoStatsVo>> getTodoStats(@RequestBody TodoStatsQueryDto statsQueryDto) {
+        try {
+            List<TodoStatsVo> stats = todoService.getTodoStats(statsQueryDto);
+            return Result.success(stats);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取缓存统计信息（仅管理员）
+     */
+    @PostMapping("/cache/stats")
+    public Result<List<CacheStatsVo>> getCacheStats(@RequestBody TodoQueryDto queryDto) {
+        try {
+            List<CacheStatsVo> stats = todoService.getCacheStats(queryDto);
+            return Result.success(stats);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
@@ -147,10 +281,12 @@ public class TodoController {
      * 获取待办详情 (GET接口)
      */
     @GetMapping("/{todoId}")
-    public Result<TodoVo> getTodoDetail(@PathVariable Long todoId) {
+    public Result<TodoVo> getTodoDetail(@PathVariable Long todoId,
+            @RequestParam(value = "includeArchived", defaultValue = "false") Boolean includeArchived) {
         try {
             TodoQueryDto queryDto = new TodoQueryDto();
             queryDto.setTodoId(todoId);
+            queryDto.setIncludeArchived(includeArchived);
             queryDto.setUserAuth("admin"); // 临时设置，实际应该从token中解析
             TodoVo todo = todoService.getTodoDetail(queryDto);
             return Result.success(todo);
@@ -192,6 +328,128 @@ public class TodoController {
             statusUpdateDto.setUserAuth(userAuth != null ? userAuth : "admin"); // 默认admin权限
             TodoVo todoVo = todoService.updateTodoStatus(statusUpdateDto);
             return Result.success("状态更新成功", todoVo);
+        } catch (VersionConflictException e) {
+            return Result.error(VersionConflictException.CODE, e.getMessage());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 全文搜索待办事项
+     */
+    @PostMapping("/search")
+    public Result<List<TodoVo>> searchTodos(@RequestBody TodoSearchDto searchDto) {
+        try {
+            List<TodoVo> todos = todoService.searchTodos(searchDto);
+            return Result.success(todos);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 全文搜索待办事项 (GET接口)
+     */
+    @GetMapping("/search")
+    public Result<List<TodoVo>> searchTodosByKeyword(
+            @RequestParam("keyword") String keyword,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = "userId", required = false) Long userId,
+            @RequestHeader(value = "userAuth", required = false) String userAuth) {
+        try {
+            TodoSearchDto searchDto = new TodoSearchDto();
+            searchDto.setUserId(userId);
+            searchDto.setUserAuth(userAuth != null ? userAuth : "admin"); // 默认admin权限
+            searchDto.setKeyword(keyword);
+            searchDto.setProjectId(projectId);
+            searchDto.setStatus(status);
+            searchDto.setLimit(limit);
+            
+            List<TodoVo> todos = todoService.searchTodos(searchDto);
+            return Result.success(todos);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 增量同步待办事项
+     */
+    @PostMapping("/changes")
+    public Result<TodoChangesVo> getTodoChanges(@RequestBody TodoChangesQueryDto changesQueryDto) {
+        try {
+            TodoChangesVo changes = todoService.getTodoChanges(changesQueryDto);
+            return Result.success(changes);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 增量同步待办事项 (GET接口)
+     */
+    @GetMapping("/changes")
+    public Result<TodoChangesVo> getTodoChangesSince(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestHeader(value = "userId", required = false) Long userId,
+            @RequestHeader(value = "userAuth", required = false) String userAuth) {
+        try {
+            TodoChangesQueryDto changesQueryDto = new TodoChangesQueryDto();
+            changesQueryDto.setUserId(userId);
+            changesQueryDto.setUserAuth(userAuth != null ? userAuth : "admin"); // 默认admin权限
+            changesQueryDto.setSince(since);
+            changesQueryDto.setLimit(limit);
+            changesQueryDto.setProjectId(projectId);
+            
+            TodoChangesVo changes = todoService.getTodoChanges(changesQueryDto);
+            return Result.success(changes);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取日历视图每日各状态待办数量
+     */
+    @PostMapping("/calendar")
+    public Result<List<TodoCalendarDayVo>> getTodoCalendar(@RequestBody TodoCalendarQueryDto calendarQueryDto) {
+        try {
+            List<TodoCalendarDayVo> days = todoService.getTodoCalendar(calendarQueryDto);
+            return Result.success(days);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取日历视图每日各状态待办数量 (GET接口)
+     */
+    @GetMapping("/calendar")
+    public Result<List<TodoCalendarDayVo>> getTodoCalendarByRange(
+            @RequestParam("startDate") String startDate,
+            @RequestParam("endDate") String endDate,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "assigneeId", required = false) Long assigneeId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestHeader(value = "userId", required = false) Long userId,
+            @RequestHeader(value = "userAuth", required = false) String userAuth) {
+        try {
+            TodoCalendarQueryDto calendarQueryDto = new TodoCalendarQueryDto();
+            calendarQueryDto.setUserId(userId);
+            calendarQueryDto.setUserAuth(userAuth != null ? userAuth : "admin"); // 默认admin权限
+            calendarQueryDto.setStartDate(java.time.LocalDate.parse(startDate));
+            calendarQueryDto.setEndDate(java.time.LocalDate.parse(endDate));
+            calendarQueryDto.setProjectId(projectId);
+            calendarQueryDto.setAssigneeId(assigneeId);
+            calendarQueryDto.setStatus(status);
+            
+            List<TodoCalendarDayVo> days = todoService.getTodoCalendar(calendarQueryDto);
+            return Result.success(days);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
@@ -201,14 +459,16 @@ public class TodoController {
      * 根据日期获取待办列表 (GET接口)
      */
     @GetMapping("/date/{date}")
-    public Result<List<TodoVo>> getTodosByDate(
+    public ResponseEntity<Result<List<TodoVo>>> getTodosByDate(
             @PathVariable String date,
             @RequestParam(value = "includeHistory", defaultValue = "false") Boolean includeHistory,
+            @RequestParam(value = "includeArchived", defaultValue = "false") Boolean includeArchived,
             @RequestParam(value = "projectId", required = false) Long projectId,
             @RequestParam(value = "assigneeId", required = false) Long assigneeId,
             @RequestParam(value = "status", required = false) String status,
             @RequestHeader(value = "userId", required = false) Long userId,
-            @RequestHeader(value = "userAuth", required = false) String userAuth) {
+            @RequestHeader(value = "userAuth", required = false) String userAuth,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             TodoQueryDto queryDto = new TodoQueryDto();
             queryDto.setUserId(userId);
@@ -221,14 +481,137 @@ public class TodoController {
             // 如果是"today"，则queryDate保持null，会默认使用今天
             
             queryDto.setIncludeHistory(includeHistory);
+            queryDto.setIncludeArchived(includeArchived);
             queryDto.setProjectId(projectId);
             queryDto.setAssigneeId(assigneeId);
             queryDto.setStatus(status);
             
+            // 列表未变化时直接返回304，不再查询列表数据和序列化
+            String etag = todoService.getTodoListETag(queryDto);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<TodoVo> todos = todoService.getTodoList(queryDto);
-            return Result.success(todos);
+            return ResponseEntity.ok().eTag(etag).body(Result.success(todos));
+        } catch (Exception e) {
+            return ResponseEntity.ok(Result.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * 根据日期游标分页获取待办列表 (GET接口)
+     */
+    @GetMapping("/date/{date}/page")
+    public Result<TodoPageVo> getTodoPageByDate(
+            @PathVariable String date,
+            @RequestParam(value = "includeHistory", defaultValue = "false") Boolean includeHistory,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "assigneeId", required = false) Long assigneeId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestHeader(value = "userId", required = false) Long userId,
+            @RequestHeader(value = "userAuth", required = false) String userAuth) {
+        try {
+            TodoQueryDto queryDto = new TodoQueryDto();
+            queryDto.setUserId(userId);
+            queryDto.setUserAuth(userAuth != null ? userAuth : "admin"); // 默认admin权限
+            
+            if (!"today".equals(date)) {
+                queryDto.setQueryDate(java.time.LocalDate.parse(date));
+            }
+            
+            queryDto.setIncludeHistory(includeHistory);
+            queryDto.setProjectId(projectId);
+            queryDto.setAssigneeId(assigneeId);
+            queryDto.setStatus(status);
+            queryDto.setCursor(cursor);
+            queryDto.setPageSize(pageSize);
+            
+            TodoPageVo page = todoService.getTodoPage(queryDto);
+            return Result.success(page);
         } catch (Exception e) {
             return Result.error(e.getMessage());
         }
     }
+
+    /**
+     * 根据日期流式导出待办列表 (GET接口)
+     * 响应结构与普通列表接口一致，但逐行写出，适合 includeHistory=true 的全量导出
+     */
+    @GetMapping("/date/{date}/stream")
+    public ResponseEntity<StreamingResponseBody> streamTodosByDate(
+            @PathVariable String date,
+            @RequestParam(value = "includeHistory", defaultValue = "false") Boolean includeHistory,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "assigneeId", required = false) Long assigneeId,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestHeader(value = "userId", required = false) Long userId,
+            @RequestHeader(value = "userAuth", required = false) String userAuth) {
+        TodoQueryDto queryDto = new TodoQueryDto();
+        queryDto.setUserId(userId);
+        queryDto.setUserAuth(userAuth != null ? userAuth : "admin"); // 默认admin权限
+        
+        if (!"today".equals(date)) {
+            queryDto.setQueryDate(java.time.LocalDate.parse(date));
+        }
+        
+        queryDto.setIncludeHistory(includeHistory);
+        queryDto.setProjectId(projectId);
+        queryDto.setAssigneeId(assigneeId);
+        queryDto.setStatus(status);
+        
+        return streamTodoList(queryDto);
+    }
+
+    /**
+     * 根据分配人ID流式导出待办列表 (GET接口)
+     */
+    @GetMapping("/assignee/{assigneeId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamTodosByAssigneeId(
+            @PathVariable Long assigneeId,
+            @RequestParam(value = "includeHistory", defaultValue = "false") Boolean includeHistory) {
+        TodoQueryDto queryDto = new TodoQueryDto();
+        queryDto.setAssigneeId(assigneeId);
+        queryDto.setIncludeHistory(includeHistory);
+        queryDto.setUserAuth("admin"); // 临时设置，实际应该从token中解析
+        
+        return streamTodoList(queryDto);
+    }
+
+    /**
+     * 以 Result 结构逐行写出待办列表，堆内存占用与返回行数无关
+     */
+    private ResponseEntity<StreamingResponseBody> streamTodoList(TodoQueryDto queryDto) {
+        // 逐行写入时不强制flush，由JsonGenerator的缓冲区满后再写到响应流
+        ObjectWriter rowWriter = objectMapper.writerFor(TodoVo.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        StreamingResponseBody body = (OutputStream outputStream) -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeNumberField("code", 200);
+                generator.writeStringField("message", "操作成功");
+                generator.writeArrayFieldStart("data");
+                
+                todoService.streamTodoList(queryDto, todoVo -> {
+                    try {
+                        rowWriter.writeValue(generator, todoVo);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (RuntimeException e) {
+                log.error("流式导出待办列表失败: {}", e.getMessage(), e);
+                throw e;
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
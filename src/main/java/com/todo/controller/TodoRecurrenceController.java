@@ -0,0 +1,59 @@
+package com.todo.controller;
+
+import com.todo.common.Result;
+import com.todo.dto.TodoRecurrenceCreateDto;
+import com.todo.dto.TodoRecurrenceQueryDto;
+import com.todo.service.TodoRecurrenceService;
+import com.todo.vo.OperationResultVo;
+import com.todo.vo.TodoRecurrenceVo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/todo/recurrence")
+public class TodoRecurrenceController {
+    
+    @Autowired
+    private TodoRecurrenceService todoRecurrenceService;
+    
+    /**
+     * 创建重复待办规则（仅管理员）
+     */
+    @PostMapping("/create")
+    public Result<TodoRecurrenceVo> createRecurrence(@RequestBody TodoRecurrenceCreateDto createDto) {
+        try {
+            TodoRecurrenceVo recurrence = todoRecurrenceService.createRecurrence(createDto);
+            return Result.success("重复待办创建成功", recurrence);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
+    /**
+     * 获取重复待办规则列表（仅管理员）
+     */
+    @PostMapping("/list")
+    public Result<List<TodoRecurrenceVo>> getRecurrences(@RequestBody TodoRecurrenceQueryDto queryDto) {
+        try {
+            List<TodoRecurrenceVo> recurrences = todoRecurrenceService.getRecurrences(queryDto);
+            return Result.success(recurrences);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+    
+    /**
+     * 停用重复待办规则（仅管理员）
+     */
+    @PostMapping("/disable")
+    public Result<OperationResultVo> disableRecurrence(@RequestBody TodoRecurrenceQueryDto queryDto) {
+        try {
+            OperationResultVo result = todoRecurrenceService.disableRecurrence(queryDto);
+            return Result.success(result);
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+}
@@ -5,8 +5,12 @@ import com.todo.dto.LoginDto;
 import com.todo.dto.RegisterDto;
 import com.todo.dto.UserListQueryDto;
 import com.todo.service.UserService;
+import com.todo.utils.ETags;
 import com.todo.vo.UserVo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -43,8 +47,15 @@ public class UserController {
      * 获取所有普通用户列表（仅管理员）
      */
     @PostMapping("/list")
-    public Result<List<UserVo>> getUserList(@RequestBody UserListQueryDto queryDto) {
+    public ResponseEntity<Result<List<UserVo>>> getUserList(
+            @RequestBody UserListQueryDto queryDto,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 列表未变化时直接返回304，不再组装和序列化数据
+        String etag = userService.getUserListETag(queryDto);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<UserVo> result = userService.getUserList(queryDto);
-        return Result.success(result);
+        return ResponseEntity.ok().eTag(etag).body(Result.success(result));
     }
 } 
\ No newline at end of file
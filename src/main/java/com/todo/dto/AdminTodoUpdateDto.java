@@ -55,6 +55,11 @@ public class AdminTodoUpdateDto {
      */
     private LocalDateTime dueDate;
     
+    /**
+     * 读取时的版本号，传入时与当前版本不一致则更新失败
+     */
+    private Integer version;
+    
     /**
      * 管理员ID（操作人）
      */
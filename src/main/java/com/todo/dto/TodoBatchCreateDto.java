@@ -0,0 +1,27 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量创建待办事项DTO
+ */
+@Data
+public class TodoBatchCreateDto {
+    
+    /**
+     * 待创建的待办事项（各条目中的 userId、userAuth 忽略，以外层为准）
+     */
+    private List<TodoCreateDto> todos;
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+}
@@ -0,0 +1,58 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量修改待办状态或分配人DTO
+ * 待办ID列表和筛选条件至少指定一项，同时指定时取交集
+ */
+@Data
+public class TodoBulkUpdateDto {
+    
+    /**
+     * 待办事项ID列表
+     */
+    private List<Long> todoIds;
+    
+    /**
+     * 筛选条件：项目ID
+     */
+    private Long projectId;
+    
+    /**
+     * 筛选条件：当前分配人ID（如转交离职人员的全部任务）
+     */
+    private Long currentAssigneeId;
+    
+    /**
+     * 筛选条件：当前状态
+     */
+    private String currentStatus;
+    
+    /**
+     * 新状态：pending, in_progress, completed
+     */
+    private String status;
+    
+    /**
+     * 新分配人ID（仅管理员）
+     */
+    private Long assigneeId;
+    
+    /**
+     * 修改原因或备注
+     */
+    private String updateReason;
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+}
@@ -0,0 +1,47 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 待办日历统计查询DTO
+ */
+@Data
+public class TodoCalendarQueryDto {
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+    
+    /**
+     * 开始日期（含）
+     */
+    private LocalDate startDate;
+    
+    /**
+     * 结束日期（含）
+     */
+    private LocalDate endDate;
+    
+    /**
+     * 项目ID（可选）
+     */
+    private Long projectId;
+    
+    /**
+     * 分配人ID（可选，仅管理员生效）
+     */
+    private Long assigneeId;
+    
+    /**
+     * 状态过滤（可选）
+     */
+    private String status;
+}
@@ -0,0 +1,35 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+/**
+ * 待办增量同步查询DTO
+ */
+@Data
+public class TodoChangesQueryDto {
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+    
+    /**
+     * 项目ID（可选）
+     */
+    private Long projectId;
+    
+    /**
+     * 同步水位，首次同步传空，后续传上一次返回的nextSince
+     */
+    private String since;
+    
+    /**
+     * 单次返回的最大条数
+     */
+    private Integer limit;
+}
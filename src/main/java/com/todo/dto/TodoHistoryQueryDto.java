@@ -0,0 +1,35 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+/**
+ * 待办变更历史查询DTO
+ */
+@Data
+public class TodoHistoryQueryDto {
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+    
+    /**
+     * 待办事项ID
+     */
+    private Long todoId;
+    
+    /**
+     * 分页游标（首页传空，后续传上一页返回的nextCursor）
+     */
+    private String cursor;
+    
+    /**
+     * 每页条数（可选）
+     */
+    private Integer pageSize;
+}
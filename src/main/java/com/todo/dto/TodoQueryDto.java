@@ -48,4 +48,19 @@ public class TodoQueryDto {
      * 是否查询历史数据（默认false，只查询今天的）
      */
     private Boolean includeHistory;
+    
+    /**
+     * 是否同时查询归档表中的已完成待办（默认false，只查询活跃表）
+     */
+    private Boolean includeArchived;
+    
+    /**
+     * 分页游标（分页查询时使用，首页传空，后续传上一页返回的nextCursor）
+     */
+    private String cursor;
+    
+    /**
+     * 每页条数（分页查询时使用）
+     */
+    private Integer pageSize;
 } 
\ No newline at end of file
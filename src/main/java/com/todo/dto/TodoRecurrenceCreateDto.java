@@ -0,0 +1,74 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 重复待办规则创建DTO
+ */
+@Data
+public class TodoRecurrenceCreateDto {
+    
+    private String title;
+    
+    private String description;
+    
+    private String priority; // low, medium, high
+    
+    private Long projectId;
+    
+    private Long assigneeId;
+    
+    /**
+     * 重复频率：daily, weekly, monthly
+     */
+    private String frequency;
+    
+    /**
+     * 每隔几天/周/月重复（可选，默认1）
+     */
+    private Integer interval;
+    
+    /**
+     * 每周重复的星期（1-7 表示周一到周日），weekly时必填
+     */
+    private List<Integer> daysOfWeek;
+    
+    /**
+     * 每月几号（1-31，超过当月天数时取月末），monthly时可选，默认取开始日期的日
+     */
+    private Integer dayOfMonth;
+    
+    /**
+     * 每次待办的开始时刻（可选，默认9:00）
+     */
+    private LocalTime startTimeOfDay;
+    
+    /**
+     * 每次待办的截止时刻（可选，默认23:59:59）
+     */
+    private LocalTime dueTimeOfDay;
+    
+    /**
+     * 规则开始日期（可选，默认今天）
+     */
+    private LocalDate startDate;
+    
+    /**
+     * 规则结束日期（可选，为空表示不结束）
+     */
+    private LocalDate endDate;
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+}
@@ -0,0 +1,30 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+/**
+ * 重复待办规则查询DTO
+ */
+@Data
+public class TodoRecurrenceQueryDto {
+    
+    /**
+     * 重复规则ID（停用时使用）
+     */
+    private Long recurrenceId;
+    
+    /**
+     * 项目ID（可选）
+     */
+    private Long projectId;
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+}
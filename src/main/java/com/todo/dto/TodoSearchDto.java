@@ -0,0 +1,40 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+/**
+ * 待办全文搜索DTO
+ */
+@Data
+public class TodoSearchDto {
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+    
+    /**
+     * 搜索关键字（匹配标题和描述）
+     */
+    private String keyword;
+    
+    /**
+     * 项目ID（可选）
+     */
+    private Long projectId;
+    
+    /**
+     * 状态过滤（可选）
+     */
+    private String status;
+    
+    /**
+     * 返回条数（可选）
+     */
+    private Integer limit;
+}
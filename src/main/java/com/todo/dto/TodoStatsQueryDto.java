@@ -0,0 +1,32 @@
+package com.todo.dto;
+
+import lombok.Data;
+
+/**
+ * 待办状态统计查询DTO
+ * 指定项目ID时返回该项目的统计，指定分配人ID时返回该用户的统计；
+ * 都不指定时，管理员返回全部项目和用户的统计，普通用户返回自己的统计
+ */
+@Data
+public class TodoStatsQueryDto {
+    
+    /**
+     * 请求用户ID
+     */
+    private Long userId;
+    
+    /**
+     * 请求用户权限
+     */
+    private String userAuth;
+    
+    /**
+     * 项目ID（可选）
+     */
+    private Long projectId;
+    
+    /**
+     * 分配人ID（可选，普通用户只能查询自己）
+     */
+    private Long assigneeId;
+}
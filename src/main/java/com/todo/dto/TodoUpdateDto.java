@@ -25,6 +25,11 @@ public class TodoUpdateDto {
     
     private LocalDateTime dueDate;
     
+    /**
+     * 读取时的版本号，传入时与当前版本不一致则更新失败
+     */
+    private Integer version;
+    
     /**
      * 请求用户ID
      */
@@ -3,8 +3,10 @@ package com.todo.entity;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
 import lombok.Data;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -35,4 +37,13 @@ public class Todo {
     private LocalDateTime createdTime;
 
     private LocalDateTime updatedTime;
+
+    @Version
+    private Integer version; // 乐观锁版本号
+
+    private Long recurrenceId; // 由重复规则生成时的规则ID
+
+    private LocalDate occurrenceDate; // 由重复规则生成时对应的日期
+
+    private LocalDateTime overdueAt; // 逾期扫描标记逾期的时间，截止时间延后到未来时清空
 }
@@ -0,0 +1,29 @@
+package com.todo.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+/**
+ * 待办状态计数（主键为 scope_type + scope_id + status）
+ */
+@Data
+@TableName("todo_counters")
+public class TodoCounter {
+
+    public static final String SCOPE_PROJECT = "project";
+
+    public static final String SCOPE_ASSIGNEE = "assignee";
+
+    /**
+     * 逾期计数行的状态值：未完成且已标记逾期的待办数量，与各状态计数重叠
+     */
+    public static final String STATUS_OVERDUE = "overdue";
+
+    private String scopeType; // project, assignee
+
+    private Long scopeId;
+
+    private String status;
+
+    private Long todoCount; // 增量更新时为变化量
+}
@@ -0,0 +1,35 @@
+package com.todo.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待办变更历史（只追加）：修改时每个变化的字段一行，新建和删除各一行
+ */
+@Data
+@TableName("todo_history")
+public class TodoHistory {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private Long todoId;
+
+    private Long projectId;
+
+    private String action; // CREATED, UPDATED, DELETED
+
+    private String field; // 修改的字段名（与TodoVo一致），新建和删除时为空
+
+    private String oldValue;
+
+    private String newValue;
+
+    private Long operatorId;
+
+    private LocalDateTime createdTime;
+}
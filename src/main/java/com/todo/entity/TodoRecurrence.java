@@ -0,0 +1,63 @@
+package com.todo.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * 重复待办规则：生成任务按规则提前生成未来若干天的待办
+ */
+@Data
+@TableName("todo_recurrences")
+public class TodoRecurrence {
+
+    public static final String DAILY = "daily";
+
+    public static final String WEEKLY = "weekly";
+
+    public static final String MONTHLY = "monthly";
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private String priority; // low, medium, high
+
+    private Long projectId;
+
+    private Long assigneeId;
+
+    private Long creatorId;
+
+    private String frequency; // daily, weekly, monthly
+
+    private Integer intervalValue; // 每隔几天/周/月
+
+    private String daysOfWeek; // 每周重复的星期（1-7，逗号分隔），weekly时使用
+
+    private Integer dayOfMonth; // 每月几号（超过当月天数时取月末），monthly时使用
+
+    private LocalTime startTimeOfDay;
+
+    private LocalTime dueTimeOfDay;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate; // 为空表示不结束
+
+    private LocalDate generatedUntil; // 已生成到的日期（含）
+
+    private Boolean enabled;
+
+    private LocalDateTime createdTime;
+
+    private LocalDateTime updatedTime;
+}
@@ -0,0 +1,19 @@
+package com.todo.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+/**
+ * 待办范围变更版本（主键为 scope_type + scope_id）
+ * 范围内任一待办新建、修改、删除或归档时加一，用于列表ETag
+ */
+@Data
+@TableName("todo_scope_versions")
+public class TodoScopeVersion {
+
+    private String scopeType; // project, assignee，与 TodoCounter 一致
+
+    private Long scopeId;
+
+    private Long version; // 增量更新时为变化量
+}
@@ -0,0 +1,59 @@
+package com.todo.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待办墓碑：待办被删除或被移出某个分配人的可见范围时记录，供增量同步返回
+ */
+@Data
+@TableName("todo_tombstones")
+public class TodoTombstone {
+
+    public static final String REASON_DELETED = "deleted";
+
+    public static final String REASON_REASSIGNED = "reassigned";
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private Long todoId;
+
+    private Long projectId;
+
+    private Long assigneeId; // 移出时的分配人
+
+    private String reason; // deleted, reassigned
+
+    private LocalDateTime createdTime;
+
+    /**
+     * 待办被删除时记录墓碑
+     */
+    public static TodoTombstone deleted(Todo todo) {
+        TodoTombstone tombstone = new TodoTombstone();
+        tombstone.setTodoId(todo.getId());
+        tombstone.setProjectId(todo.getProjectId());
+        tombstone.setAssigneeId(todo.getAssigneeId());
+        tombstone.setReason(REASON_DELETED);
+        tombstone.setCreatedTime(LocalDateTime.now());
+        return tombstone;
+    }
+
+    /**
+     * 待办被重新分配给他人时，为原分配人记录墓碑
+     */
+    public static TodoTombstone reassigned(Todo originalTodo) {
+        TodoTombstone tombstone = new TodoTombstone();
+        tombstone.setTodoId(originalTodo.getId());
+        tombstone.setProjectId(originalTodo.getProjectId());
+        tombstone.setAssigneeId(originalTodo.getAssigneeId());
+        tombstone.setReason(REASON_REASSIGNED);
+        tombstone.setCreatedTime(LocalDateTime.now());
+        return tombstone;
+    }
+}
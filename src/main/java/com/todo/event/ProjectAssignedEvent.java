@@ -0,0 +1,30 @@
+package com.todo.event;
+
+import com.todo.entity.Project;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 项目分配事件（事务提交后处理）
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectAssignedEvent {
+    
+    /**
+     * 被分配的项目
+     */
+    private final Project project;
+    
+    /**
+     * 被分配的用户ID列表
+     */
+    private final List<Long> userIds;
+    
+    /**
+     * 操作管理员ID
+     */
+    private final Long adminId;
+}
@@ -0,0 +1,43 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 管理员修改待办事件（事务提交后处理）
+ */
+@Getter
+@AllArgsConstructor
+public class TodoAdminUpdatedEvent {
+    
+    /**
+     * 修改后的待办事项
+     */
+    private final Todo todo;
+    
+    /**
+     * 管理员ID
+     */
+    private final Long adminId;
+    
+    /**
+     * 管理员用户名
+     */
+    private final String adminName;
+    
+    /**
+     * 修改前的状态
+     */
+    private final String originalStatus;
+    
+    /**
+     * 修改前的分配人ID
+     */
+    private final Long originalAssigneeId;
+    
+    /**
+     * 修改原因
+     */
+    private final String updateReason;
+}
@@ -0,0 +1,59 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 待办数据变更事件（事务提交后处理）
+ * 每条待办的每次写入发布一次，携带修改前后的完整数据，供实时推送等数据同步使用
+ */
+@Getter
+@AllArgsConstructor
+public class TodoChangedEvent {
+    
+    public static final String CREATED = "CREATED";
+    
+    public static final String UPDATED = "UPDATED";
+    
+    public static final String DELETED = "DELETED";
+    
+    /**
+     * 变更类型：CREATED, UPDATED, DELETED
+     */
+    private final String action;
+    
+    /**
+     * 修改前的待办，新建时为null
+     */
+    private final Todo before;
+    
+    /**
+     * 修改后的待办，删除时为null
+     */
+    private final Todo after;
+    
+    /**
+     * 操作人ID
+     */
+    private final Long operatorId;
+    
+    public static TodoChangedEvent created(Todo todo, Long operatorId) {
+        return new TodoChangedEvent(CREATED, null, todo, operatorId);
+    }
+    
+    public static TodoChangedEvent updated(Todo before, Todo after, Long operatorId) {
+        return new TodoChangedEvent(UPDATED, before, after, operatorId);
+    }
+    
+    public static TodoChangedEvent deleted(Todo todo, Long operatorId) {
+        return new TodoChangedEvent(DELETED, todo, null, operatorId);
+    }
+    
+    /**
+     * 变更后的待办ID
+     */
+    public Long getTodoId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
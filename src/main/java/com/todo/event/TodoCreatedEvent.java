@@ -0,0 +1,23 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 待办事项创建事件（事务提交后处理）
+ */
+@Getter
+@AllArgsConstructor
+public class TodoCreatedEvent {
+    
+    /**
+     * 新建的待办事项
+     */
+    private final Todo todo;
+    
+    /**
+     * 创建人（管理员）ID
+     */
+    private final Long operatorId;
+}
@@ -0,0 +1,23 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 待办状态变更事件（事务提交后处理）
+ */
+@Getter
+@AllArgsConstructor
+public class TodoStatusChangedEvent {
+    
+    /**
+     * 变更后的待办事项
+     */
+    private final Todo todo;
+    
+    /**
+     * 操作用户ID
+     */
+    private final Long operatorId;
+}
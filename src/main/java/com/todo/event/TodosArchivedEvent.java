@@ -0,0 +1,30 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 待办归档事件（归档批次内发布，监听器可在事务内或提交后处理）
+ */
+@Getter
+@AllArgsConstructor
+public class TodosArchivedEvent {
+    
+    /**
+     * 本批移入归档表的待办（只含ID、项目ID和分配人ID）
+     */
+    private final List<Todo> todos;
+    
+    /**
+     * 本批移入归档表的待办ID
+     */
+    public List<Long> getTodoIds() {
+        return todos.stream()
+                .map(Todo::getId)
+                .collect(Collectors.toList());
+    }
+}
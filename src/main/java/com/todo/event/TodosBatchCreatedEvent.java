@@ -0,0 +1,25 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 待办事项批量创建事件（事务提交后处理）
+ */
+@Getter
+@AllArgsConstructor
+public class TodosBatchCreatedEvent {
+    
+    /**
+     * 新建的待办事项（已回填ID）
+     */
+    private final List<Todo> todos;
+    
+    /**
+     * 创建人（管理员）ID
+     */
+    private final Long operatorId;
+}
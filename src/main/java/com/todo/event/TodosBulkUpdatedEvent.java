@@ -0,0 +1,45 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 待办事项批量修改状态或分配人事件（事务提交后处理）
+ */
+@Getter
+@AllArgsConstructor
+public class TodosBulkUpdatedEvent {
+    
+    /**
+     * 修改前的待办事项
+     */
+    private final List<Todo> originalTodos;
+    
+    /**
+     * 新状态，未修改时为null
+     */
+    private final String newStatus;
+    
+    /**
+     * 新分配人ID，未修改时为null
+     */
+    private final Long newAssigneeId;
+    
+    /**
+     * 操作人ID
+     */
+    private final Long operatorId;
+    
+    /**
+     * 操作人是否为管理员
+     */
+    private final boolean operatorAdmin;
+    
+    /**
+     * 修改原因或备注
+     */
+    private final String updateReason;
+}
@@ -0,0 +1,20 @@
+package com.todo.event;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 待办逾期事件（逾期扫描全部批次提交后发布）
+ */
+@Getter
+@AllArgsConstructor
+public class TodosOverdueEvent {
+    
+    /**
+     * 本次被标记为逾期的待办（标记前的数据）
+     */
+    private final List<Todo> todos;
+}
@@ -0,0 +1,95 @@
+package com.todo.job;
+
+import com.todo.entity.Todo;
+import com.todo.event.TodosOverdueEvent;
+import com.todo.service.TodoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 待办逾期扫描
+ * 定时给截止时间已过且未完成的待办写入逾期时间 overdue_at（不修改状态），并给每个分配人发送一条合并通知；
+ * 每项待办只标记和通知一次，截止时间延后到未来时清除标记。
+ * 按状态分别沿 (status, overdue_at, due_date, id) 索引键集分批读取，每批一个短事务、一条UPDATE，
+ * 不做OFFSET翻页也不长时间持锁；通过数据库租约保证多节点部署时只有一个节点执行。
+ */
+@Slf4j
+@Component
+public class OverdueTodoSweeper {
+
+    private static final String LEASE_NAME = "overdue-sweep";
+
+    /**
+     * 需要检查逾期的状态
+     */
+    private static final List<String> OPEN_STATUSES = Arrays.asList("pending", "in_progress");
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private SchedulerLease schedulerLease;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${todo.overdue.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.overdue.batch-size:500}")
+    private int batchSize;
+
+    @Value("${todo.overdue.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Scheduled(cron = "${todo.overdue.cron:0 */5 * * * ?}", zone = "Asia/Shanghai")
+    public void sweep() {
+        if (!enabled || !schedulerLease.tryAcquire(LEASE_NAME, leaseSeconds)) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Todo> overdueTodos = new ArrayList<>();
+            for (String status : OPEN_STATUSES) {
+                sweepStatus(status, now, overdueTodos);
+            }
+            if (!overdueTodos.isEmpty()) {
+                eventPublisher.publishEvent(new TodosOverdueEvent(overdueTodos));
+                log.info("逾期扫描完成，标记 {} 项待办为逾期", overdueTodos.size());
+            }
+        } catch (Exception e) {
+            log.error("逾期扫描失败: {}", e.getMessage(), e);
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+        }
+    }
+
+    private void sweepStatus(String status, LocalDateTime now, List<Todo> overdueTodos) {
+        LocalDateTime afterDueDate = null;
+        Long afterId = null;
+        while (true) {
+            List<Todo> batch = todoService.markOverdueBatch(status, now, afterDueDate, afterId, batchSize);
+            overdueTodos.addAll(batch);
+            if (batch.size() < batchSize) {
+                return;
+            }
+            Todo last = batch.get(batch.size() - 1);
+            afterDueDate = last.getDueDate();
+            afterId = last.getId();
+            // 每批后续期，扫描耗时超过租约或租约被接管时停止，剩余部分由下次执行处理
+            if (!schedulerLease.tryAcquire(LEASE_NAME, leaseSeconds)) {
+                log.warn("逾期扫描租约已失效，提前结束");
+                return;
+            }
+        }
+    }
+}
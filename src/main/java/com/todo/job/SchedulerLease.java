@@ -0,0 +1,51 @@
+package com.todo.job;
+
+import com.todo.mapper.SchedulerLeaseMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * 定时任务数据库租约
+ * 多节点部署时同名任务只由持有租约的节点执行；节点宕机后租约过期，其他节点可接管。
+ */
+@Slf4j
+@Component
+public class SchedulerLease {
+
+    /**
+     * 本节点标识（进程名加随机后缀，重启后变化）
+     */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "-"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private SchedulerLeaseMapper schedulerLeaseMapper;
+
+    /**
+     * 尝试获取或续期租约，成功返回true
+     */
+    public boolean tryAcquire(String name, long leaseSeconds) {
+        try {
+            schedulerLeaseMapper.acquire(name, owner, leaseSeconds);
+            return owner.equals(schedulerLeaseMapper.selectOwner(name));
+        } catch (Exception e) {
+            log.error("获取定时任务租约失败: {}", name, e);
+            return false;
+        }
+    }
+
+    /**
+     * 任务执行完后释放租约，其他节点下次调度即可获取
+     */
+    public void release(String name) {
+        try {
+            schedulerLeaseMapper.release(name, owner);
+        } catch (Exception e) {
+            log.warn("释放定时任务租约失败: {}", name, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.todo.job;
+
+import com.todo.service.TodoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已完成待办归档
+ * 定时把完成已久的待办从 todos 移入 todos_archive，使活跃表保持在缓冲池可容纳的规模。
+ * 每批一个短事务（复制后删除），批次之间短暂停顿；通过数据库租约保证多节点部署时只有一个节点执行。
+ * 列表和详情接口传 includeArchived=true 时才会查询归档表。
+ */
+@Slf4j
+@Component
+public class TodoArchiver {
+
+    private static final String LEASE_NAME = "todo-archive";
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private SchedulerLease schedulerLease;
+
+    @Value("${todo.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.archive.retention-days:90}")
+    private long retentionDays;
+
+    @Value("${todo.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${todo.archive.batch-pause-millis:100}")
+    private long batchPauseMillis;
+
+    @Value("${todo.archive.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Scheduled(cron = "${todo.archive.cron:0 30 3 * * ?}", zone = "Asia/Shanghai")
+    public void archive() {
+        if (!enabled || !schedulerLease.tryAcquire(LEASE_NAME, leaseSeconds)) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int archived = 0;
+        try {
+            while (true) {
+                int count = todoService.archiveCompletedBatch(cutoff, batchSize);
+                archived += count;
+                if (count < batchSize) {
+                    break;
+                }
+                // 每批后续期，租约失效时停止，剩余部分由下次执行处理
+                if (!schedulerLease.tryAcquire(LEASE_NAME, leaseSeconds)) {
+                    log.warn("待办归档租约已失效，提前结束");
+                    break;
+                }
+                Thread.sleep(batchPauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("待办归档失败: {}", e.getMessage(), e);
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+        }
+        if (archived > 0) {
+            log.info("待办归档完成，归档 {} 项（截止 {}）", archived, cutoff);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.todo.job;
+
+import com.todo.config.SchedulingConfig;
+import com.todo.service.TodoRecurrenceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * 重复待办生成
+ * 定时按规则ID键集分批，为每条启用的规则提前生成到 今天+预生成天数 的待办，每批一个事务、多行插入。
+ * 通过数据库租约保证多节点部署时只有一个节点执行；即使重复执行，规则行锁、生成水位和唯一键也不会产生重复待办。
+ */
+@Slf4j
+@Component
+public class TodoRecurrenceGenerator {
+
+    private static final String LEASE_NAME = "todo-recurrence";
+
+    @Autowired
+    private TodoRecurrenceService todoRecurrenceService;
+
+    @Autowired
+    private SchedulerLease schedulerLease;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${todo.recurrence.enabled:true}")
+    private boolean enabled;
+
+    @Value("${todo.recurrence.horizon-days:14}")
+    private long horizonDays;
+
+    @Value("${todo.recurrence.batch-size:100}")
+    private int batchSize;
+
+    @Value("${todo.recurrence.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Scheduled(cron = "${todo.recurrence.cron:0 10 * * * ?}", zone = SchedulingConfig.ZONE)
+    public void generate() {
+        if (!enabled || !schedulerLease.tryAcquire(LEASE_NAME, leaseSeconds)) {
+            return;
+        }
+        LocalDate until = LocalDate.now(clock).plusDays(horizonDays);
+        try {
+            Long afterId = null;
+            while (true) {
+                afterId = todoRecurrenceService.generateBatch(afterId, until, batchSize);
+                if (afterId == null) {
+                    break;
+                }
+                // 每批后续期，租约失效时停止，剩余部分由下次执行处理
+                if (!schedulerLease.tryAcquire(LEASE_NAME, leaseSeconds)) {
+                    log.warn("重复待办生成租约已失效，提前结束");
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("重复待办生成失败: {}", e.getMessage(), e);
+        } finally {
+            schedulerLease.release(LEASE_NAME);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.todo.listener;
+
+import com.todo.cache.UserDirectory;
+import com.todo.dto.NotificationCreateDto;
+import com.todo.entity.Project;
+import com.todo.event.ProjectAssignedEvent;
+import com.todo.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 项目通知监听器
+ * 项目分配事务提交后，在通知线程池中向被分配用户发送通知。
+ */
+@Slf4j
+@Component
+public class ProjectNotificationListener {
+    
+    @Autowired
+    private UserDirectory userDirectory;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    /**
+     * 项目分配后通知被分配的用户
+     */
+    @Async("notificationExecutor")
+    @TransactionalEventListener
+    public void onProjectAssigned(ProjectAssignedEvent event) {
+        sendProjectAssignmentNotifications(event.getProject(), event.getUserIds(), event.getAdminId());
+    }
+    
+    /**
+     * 发送项目分配通知
+     */
+    private void sendProjectAssignmentNotifications(Project project, List<Long> userIds, Long adminId) {
+        try {
+            // 获取管理员信息
+            String adminName = userDirectory.getUsername(adminId, "管理员");
+            
+            // 只通知存在的用户，未缓存的用户一次查询加载
+            List<Long> receiverIds = userDirectory.filterExisting(userIds);
+            if (receiverIds.isEmpty()) {
+                return;
+            }
+            
+            // 一次批量写入并推送给所有被分配的用户
+            NotificationCreateDto notificationDto = new NotificationCreateDto();
+            notificationDto.setTitle("项目分配通知");
+            notificationDto.setContent(String.format("您已被分配到项目：%s。请及时查看项目详情并开始工作。", project.getProjectName()));
+            notificationDto.setType("personal");
+            notificationDto.setPriority("high");
+            notificationDto.setProjectId(project.getId());
+            notificationDto.setPushImmediately(true);
+            
+            notificationService.createPersonalNotifications(notificationDto, receiverIds, adminId, adminName);
+            
+            log.info("已为 {} 位用户发送项目分配通知，项目：{}", receiverIds.size(), project.getProjectName());
+            
+        } catch (Exception e) {
+            log.error("发送项目分配通知失败：{}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.todo.listener;
+
+import com.todo.dto.WebSocketMessageDto;
+import com.todo.entity.Todo;
+import com.todo.event.TodoChangedEvent;
+import com.todo.service.WebSocketService;
+import com.todo.utils.TodoDiff;
+import com.todo.vo.TodoChangeMessageVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 待办变更实时推送监听器
+ * 向项目订阅者（/topic/project/{projectId}）推送 TODO_CHANGED 消息，只携带变化的字段和版本号。
+ * 在写入待办的事务内接收变更事件并按项目缓存，事务提交后每个项目只发送一条消息，
+ * 消息内容为该事务在此项目下的全部变更（按写入顺序），批量创建、批量修改等批处理不再逐行推送；
+ * 事务回滚时丢弃缓存的变更。
+ */
+@Slf4j
+@Component
+public class TodoChangePushListener {
+    
+    public static final String MESSAGE_TYPE = "TODO_CHANGED";
+    
+    @Autowired
+    private WebSocketService webSocketService;
+    
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingChanges changes = new PendingChanges();
+            changes.add(event);
+            send(changes);
+            return;
+        }
+        
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingChanges changes = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(changes);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TodoChangePushListener.this);
+                }
+            });
+            pending = changes;
+        }
+        pending.add(event);
+    }
+    
+    private void send(PendingChanges pending) {
+        for (Map.Entry<Long, List<TodoChangeMessageVo>> entry : pending.byProject.entrySet()) {
+            try {
+                WebSocketMessageDto message = new WebSocketMessageDto(MESSAGE_TYPE, entry.getValue());
+                message.setSenderId(pending.operatorId);
+                message.setProjectId(entry.getKey());
+                webSocketService.sendToProject(entry.getKey(), message);
+            } catch (Exception e) {
+                log.error("推送待办变更失败，项目ID: {}，变更数: {}，{}", entry.getKey(), entry.getValue().size(),
+                        e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * 同一事务内按项目分组的待办变更
+     */
+    private static class PendingChanges {
+        
+        private final Map<Long, List<TodoChangeMessageVo>> byProject = new LinkedHashMap<>();
+        
+        private Long operatorId;
+        
+        void add(TodoChangedEvent event) {
+            if (byProject.isEmpty()) {
+                operatorId = event.getOperatorId();
+            }
+            Todo before = event.getBefore();
+            Todo after = event.getAfter();
+            
+            // 待办移动到其他项目时，原项目按删除处理，新项目按新建处理（版本号均为修改后的版本号）
+            if (before != null && after != null && !Objects.equals(before.getProjectId(), after.getProjectId())) {
+                add(TodoChangedEvent.DELETED, before.getId(), before.getProjectId(), after.getVersion(),
+                        after.getUpdatedTime(), Collections.emptyMap());
+                add(TodoChangedEvent.CREATED, after.getId(), after.getProjectId(), after.getVersion(),
+                        after.getUpdatedTime(), TodoDiff.changedValues(null, after));
+                return;
+            }
+            
+            if (after == null) {
+                // 删除后不再有版本号，按删除前版本号加一发送，保证大于客户端本地版本
+                add(TodoChangedEvent.DELETED, before.getId(), before.getProjectId(), nextVersion(before.getVersion()),
+                        null, Collections.emptyMap());
+                return;
+            }
+            add(event.getAction(), after.getId(), after.getProjectId(), after.getVersion(), after.getUpdatedTime(),
+                    TodoDiff.changedValues(before, after));
+        }
+        
+        private Integer nextVersion(Integer version) {
+            return version != null ? version + 1 : null;
+        }
+        
+        private void add(String action, Long todoId, Long projectId, Integer version, LocalDateTime updatedTime,
+                         Map<String, Object> changes) {
+            if (projectId == null) {
+                return;
+            }
+            TodoChangeMessageVo content = new TodoChangeMessageVo();
+            content.setAction(action);
+            content.setTodoId(todoId);
+            content.setProjectId(projectId);
+            content.setVersion(version);
+            content.setUpdatedTime(updatedTime);
+            content.setChanges(changes);
+            byProject.computeIfAbsent(projectId, id -> new ArrayList<>()).add(content);
+        }
+    }
+}
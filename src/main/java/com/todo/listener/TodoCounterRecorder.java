@@ -0,0 +1,172 @@
+package com.todo.listener;
+
+import com.todo.entity.Todo;
+import com.todo.entity.TodoCounter;
+import com.todo.entity.TodoScopeVersion;
+import com.todo.event.TodoChangedEvent;
+import com.todo.event.TodosArchivedEvent;
+import com.todo.mapper.TodoCounterMapper;
+import com.todo.mapper.TodoScopeVersionMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 待办计数维护
+ * 在写入待办的事务内同步接收变更事件，按修改前后的状态、项目、分配人计算计数变化量，
+ * 并给涉及的项目和分配人范围的变更版本加一（归档同样加版本，但不改变计数）；
+ * 同一事务内的变化量合并后在提交前一次写入，与待办数据同时提交或回滚。
+ * 计数行和版本行都按主键顺序更新，避免并发事务交叉加锁导致死锁。
+ */
+@Component
+public class TodoCounterRecorder {
+    
+    @Autowired
+    private TodoCounterMapper todoCounterMapper;
+    
+    @Autowired
+    private TodoScopeVersionMapper todoScopeVersionMapper;
+    
+    @EventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        PendingDeltas pending = pendingDeltas();
+        Todo before = event.getBefore();
+        Todo after = event.getAfter();
+        if (before != null) {
+            addTodo(pending.counters, before, -1);
+            addVersions(pending.versions, before);
+        }
+        if (after != null) {
+            addTodo(pending.counters, after, 1);
+            addVersions(pending.versions, after);
+        }
+        writeIfNoTransaction(pending);
+    }
+    
+    /**
+     * 归档不改变计数（状态计数包含已归档的待办），但列表内容变化，需要更新范围版本
+     */
+    @EventListener
+    public void onTodosArchived(TodosArchivedEvent event) {
+        PendingDeltas pending = pendingDeltas();
+        for (Todo todo : event.getTodos()) {
+            addVersions(pending.versions, todo);
+        }
+        writeIfNoTransaction(pending);
+    }
+    
+    /**
+     * 取得当前事务的待写入变化量，首次使用时注册提交前写入；不在事务中时返回新的变化量
+     */
+    private PendingDeltas pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingDeltas();
+        }
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            PendingDeltas deltas = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    writeDeltas(deltas);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TodoCounterRecorder.this);
+                }
+            });
+            pending = deltas;
+        }
+        return pending;
+    }
+    
+    private void writeIfNoTransaction(PendingDeltas pending) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeDeltas(pending);
+        }
+    }
+    
+    private void addTodo(Map<String, TodoCounter> deltas, Todo todo, long delta) {
+        add(deltas, TodoCounter.SCOPE_PROJECT, todo.getProjectId(), todo.getStatus(), delta);
+        add(deltas, TodoCounter.SCOPE_ASSIGNEE, todo.getAssigneeId(), todo.getStatus(), delta);
+        // 未完成且已标记逾期的待办另计一行逾期数量
+        if (todo.getOverdueAt() != null && !"completed".equals(todo.getStatus())) {
+            add(deltas, TodoCounter.SCOPE_PROJECT, todo.getProjectId(), TodoCounter.STATUS_OVERDUE, delta);
+            add(deltas, TodoCounter.SCOPE_ASSIGNEE, todo.getAssigneeId(), TodoCounter.STATUS_OVERDUE, delta);
+        }
+    }
+    
+    private void add(Map<String, TodoCounter> deltas, String scopeType, Long scopeId, String status, long delta) {
+        if (scopeId == null || status == null) {
+            return;
+        }
+        String key = String.format("%s|%020d|%s", scopeType, scopeId, status);
+        TodoCounter counter = deltas.get(key);
+        if (counter == null) {
+            counter = new TodoCounter();
+            counter.setScopeType(scopeType);
+            counter.setScopeId(scopeId);
+            counter.setStatus(status);
+            counter.setTodoCount(0L);
+            deltas.put(key, counter);
+        }
+        counter.setTodoCount(counter.getTodoCount() + delta);
+    }
+    
+    /**
+     * 同一事务内每个范围的版本只加一
+     */
+    private void addVersions(Map<String, TodoScopeVersion> versions, Todo todo) {
+        addVersion(versions, TodoCounter.SCOPE_PROJECT, todo.getProjectId());
+        addVersion(versions, TodoCounter.SCOPE_ASSIGNEE, todo.getAssigneeId());
+    }
+    
+    private void addVersion(Map<String, TodoScopeVersion> versions, String scopeType, Long scopeId) {
+        if (scopeId == null) {
+            return;
+        }
+        versions.computeIfAbsent(String.format("%s|%020d", scopeType, scopeId), key -> {
+            TodoScopeVersion version = new TodoScopeVersion();
+            version.setScopeType(scopeType);
+            version.setScopeId(scopeId);
+            version.setVersion(1L);
+            return version;
+        });
+    }
+    
+    private void writeDeltas(PendingDeltas pending) {
+        List<TodoCounter> changed = new ArrayList<>();
+        for (TodoCounter counter : pending.counters.values()) {
+            if (counter.getTodoCount() != 0) {
+                changed.add(counter);
+            }
+        }
+        if (!changed.isEmpty()) {
+            todoCounterMapper.applyDeltas(changed);
+        }
+        if (!pending.versions.isEmpty()) {
+            todoScopeVersionMapper.applyDeltas(new ArrayList<>(pending.versions.values()));
+        }
+        pending.counters.clear();
+        pending.versions.clear();
+    }
+    
+    /**
+     * 同一事务内待写入的计数和版本变化量（按主键排序）
+     */
+    private static class PendingDeltas {
+        
+        private final Map<String, TodoCounter> counters = new TreeMap<>();
+        
+        private final Map<String, TodoScopeVersion> versions = new TreeMap<>();
+    }
+}
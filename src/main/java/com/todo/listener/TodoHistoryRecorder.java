@@ -0,0 +1,206 @@
+package com.todo.listener;
+
+import com.todo.entity.Todo;
+import com.todo.entity.TodoHistory;
+import com.todo.event.TodoChangedEvent;
+import com.todo.mapper.TodoHistoryMapper;
+import com.todo.utils.TodoDiff;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 待办变更历史记录
+ * 待办写入事务提交后只把变更事件放入内存队列（请求线程上为一次入队），
+ * 由后台定时任务取出、按字段比较差异并用多行INSERT分批写入 todo_history。
+ * 历史写入因此比待办数据最多延迟一个刷新间隔。
+ * 队列满时最多等待一小段时间，仍然满则在当前线程直接写入，不丢弃记录；
+ * 写入失败的一批保留下来按指数退避重试，期间暂停取出新的变更，连续失败达到上限后才放弃并告警。
+ * 应用关闭时写完队列中剩余的记录。
+ */
+@Slf4j
+@Component
+public class TodoHistoryRecorder {
+
+    @Autowired
+    private TodoHistoryMapper todoHistoryMapper;
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 60_000L;
+
+    @Value("${todo.history.batch-size:500}")
+    private int batchSize;
+
+    @Value("${todo.history.offer-timeout-millis:50}")
+    private long offerTimeoutMillis;
+
+    @Value("${todo.history.retry-max-attempts:5}")
+    private int retryMaxAttempts;
+
+    @Value("${todo.history.retry-backoff-millis:1000}")
+    private long retryBackoffMillis;
+
+    private final BlockingQueue<PendingChange> queue;
+
+    /**
+     * 写入失败等待重试的记录，只在持有本对象锁的刷新中访问
+     */
+    private List<TodoHistory> failed = Collections.emptyList();
+
+    private int failedAttempts;
+
+    private long nextRetryAt;
+
+    public TodoHistoryRecorder(@Value("${todo.history.queue-capacity:100000}") int queueCapacity) {
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        PendingChange change = new PendingChange(event, LocalDateTime.now());
+        try {
+            if (queue.offer(change, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // 队列持续已满时在当前线程直接写入
+        List<TodoHistory> histories = new ArrayList<>();
+        toHistories(change, histories);
+        try {
+            insert(histories);
+        } catch (Exception e) {
+            log.error("待办变更历史队列已满且直接写入失败，待办ID: {}，{}", event.getTodoId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 定时取出队列中的变更写入数据库
+     */
+    @Scheduled(fixedDelayString = "${todo.history.flush-interval-millis:1000}")
+    public synchronized void flush() {
+        if (!writeFailed()) {
+            return;
+        }
+        List<PendingChange> changes = new ArrayList<>(batchSize);
+        while (queue.drainTo(changes, batchSize) > 0) {
+            List<TodoHistory> histories = new ArrayList<>();
+            for (PendingChange change : changes) {
+                toHistories(change, histories);
+            }
+            changes.clear();
+            if (histories.isEmpty()) {
+                continue;
+            }
+            failed = histories;
+            if (!writeFailed()) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void flushOnShutdown() {
+        nextRetryAt = 0;
+        flush();
+        if (!failed.isEmpty() || !queue.isEmpty()) {
+            log.error("应用关闭时写入待办变更历史失败，未写入 {} 条记录和 {} 条变更", failed.size(), queue.size());
+        }
+    }
+
+    /**
+     * 写入待重试的记录；未到重试时间或再次失败时返回false，本次刷新不再取出新的变更
+     */
+    private boolean writeFailed() {
+        if (failed.isEmpty()) {
+            return true;
+        }
+        if (System.currentTimeMillis() < nextRetryAt) {
+            return false;
+        }
+        try {
+            insert(failed);
+        } catch (Exception e) {
+            failedAttempts++;
+            if (failedAttempts >= retryMaxAttempts) {
+                log.error("写入待办变更历史连续失败 {} 次，放弃 {} 条: {}", failedAttempts, failed.size(), e.getMessage(), e);
+                resetFailed();
+                return true;
+            }
+            long backoff = Math.min(retryBackoffMillis << (failedAttempts - 1), MAX_RETRY_BACKOFF_MILLIS);
+            nextRetryAt = System.currentTimeMillis() + backoff;
+            log.warn("写入待办变更历史失败，{} 毫秒后第 {} 次重试 {} 条: {}", backoff, failedAttempts, failed.size(),
+                    e.getMessage());
+            return false;
+        }
+        resetFailed();
+        return true;
+    }
+
+    private void resetFailed() {
+        failed = Collections.emptyList();
+        failedAttempts = 0;
+        nextRetryAt = 0;
+    }
+
+    private void insert(List<TodoHistory> histories) {
+        for (int from = 0; from < histories.size(); from += batchSize) {
+            todoHistoryMapper.insertBatch(histories.subList(from, Math.min(from + batchSize, histories.size())));
+        }
+    }
+
+    private void toHistories(PendingChange change, List<TodoHistory> histories) {
+        TodoChangedEvent event = change.event;
+        Todo current = event.getAfter() != null ? event.getAfter() : event.getBefore();
+        if (!TodoChangedEvent.UPDATED.equals(event.getAction())) {
+            histories.add(newHistory(change, current, null, null, null));
+            return;
+        }
+        for (TodoDiff.FieldChange fieldChange : TodoDiff.compare(event.getBefore(), event.getAfter())) {
+            histories.add(newHistory(change, current, fieldChange.getField(),
+                    toText(fieldChange.getOldValue()), toText(fieldChange.getNewValue())));
+        }
+    }
+
+    private TodoHistory newHistory(PendingChange change, Todo todo, String field, String oldValue, String newValue) {
+        TodoHistory history = new TodoHistory();
+        history.setTodoId(todo.getId());
+        history.setProjectId(todo.getProjectId());
+        history.setAction(change.event.getAction());
+        history.setField(field);
+        history.setOldValue(oldValue);
+        history.setNewValue(newValue);
+        history.setOperatorId(change.event.getOperatorId());
+        history.setCreatedTime(change.changedAt);
+        return history;
+    }
+
+    private String toText(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static class PendingChange {
+
+        private final TodoChangedEvent event;
+
+        private final LocalDateTime changedAt;
+
+        private PendingChange(TodoChangedEvent event, LocalDateTime changedAt) {
+            this.event = event;
+            this.changedAt = changedAt;
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package com.todo.listener;
+
+import com.todo.cache.UserDirectory;
+import com.todo.cache.UserRoster;
+import com.todo.cache.UserSummary;
+import com.todo.dto.NotificationCreateDto;
+import com.todo.entity.Project;
+import com.todo.entity.Todo;
+import com.todo.event.TodoAdminUpdatedEvent;
+import com.todo.event.TodoCreatedEvent;
+import com.todo.event.TodoStatusChangedEvent;
+import com.todo.event.TodosBatchCreatedEvent;
+import com.todo.event.TodosBulkUpdatedEvent;
+import com.todo.event.TodosOverdueEvent;
+import com.todo.mapper.ProjectMapper;
+import com.todo.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 待办事项通知监听器
+ * 待办写入事务提交后，在通知线程池中构建并发送通知；事务回滚时不会收到事件。
+ */
+@Slf4j
+@Component
+public class TodoNotificationListener {
+    
+    /**
+     * 合并通知中最多列出的待办标题数
+     */
+    private static final int MAX_TITLES_IN_DIGEST = 10;
+    
+    @Autowired
+    private UserDirectory userDirectory;
+    
+    @Autowired
+    private UserRoster userRoster;
+    
+    @Autowired
+    private ProjectMapper projectMapper;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    /**
+     * 待办创建后通知分配人和项目成员
+     */
+    @Async("notificationExecutor")
+    @TransactionalEventListener
+    public void onTodoCreated(TodoCreatedEvent event) {
+        sendTodoCreationNotification(event.getTodo(), event.getOperatorId());
+    }
+    
+    /**
+     * 批量创建待办后，每个分配人、每个项目各发送一条合并通知
+     */
+    @Async("notificationExecutor")
+    @TransactionalEventListener
+    public void onTodosBatchCreated(TodosBatchCreatedEvent event) {
+        sendBatchCreationNotifications(event.getTodos(), event.getOperatorId());
+    }
+    
+    /**
+     * 批量修改状态或分配人后，每个受影响的用户发送一条合并通知
+     */
+    @Async("notificationExecutor")
+    @TransactionalEventListener
+    public void onTodosBulkUpdated(TodosBulkUpdatedEvent event) {
+        sendBulkUpdateNotifications(event);
+    }
+    
+    /**
+     * 逾期扫描完成后，每个分配人发送一条合并通知
+     * 扫描按批提交，事件在全部批次提交后于事务外发布
+     */
+    @Async("notificationExecutor")
+    @EventListener
+    public void onTodosOverdue(TodosOverdueEvent event) {
+        sendOverdueNotifications(event.getTodos());
+    }
+    
+    /**
+     * 待办状态变更后通知管理员
+     */
+    @Async("notificationExecutor")
+    @TransactionalEventListener
+    public void onTodoStatusChanged(TodoStatusChangedEvent event) {
+        sendTaskStatusChangeNotification(event.getTodo(), event.getOperatorId());
+    }
+    
+    /**
+     * 管理员修改待办后通知相关人员
+     */
+    @Async("notificationExecutor")
+    @TransactionalEventListener
+    public void onTodoAdminUpdated(TodoAdminUpdatedEvent event) {
+        sendAdminUpdateNotification(event.getTodo(), event.getAdminId(), event.getAdminName(),
+                event.getOriginalStatus(), event.getOriginalAssigneeId(), event.getUpdateReason());
+    }
+    
+    /**
+     * 发送待办创建通知
+     */
+    private void sendTodoCreationNotification(Todo todo, Long adminId) {
+        try {
+            // 一次取出管理员和分配人信息
+            Map<Long, UserSummary> users = userDirectory.getAll(Arrays.asList(adminId, todo.getAssigneeId()));
+            UserSummary admin = users.get(adminId);
+            String adminName = admin != null ? admin.getUsername() : "管理员";
+            
+            // 如果待办有分配人，发送个人通知
+            if (todo.getAssigneeId() != null) {
+                UserSummary assignee = users.get(todo.getAssigneeId());
+                if (assignee != null) {
+                    NotificationCreateDto notificationDto = new NotificationCreateDto();
+                    notificationDto.setTitle("新待办事项分配");
+                    notificationDto.setContent(String.format("您有新的待办事项：%s。优先级：%s，截止时间：%s", 
+                        todo.getTitle(), 
+                        todo.getPriority() != null ? todo.getPriority() : "普通",
+                        todo.getDueDate() != null ? todo.getDueDate().toString() : "未设置"));
+                    notificationDto.setType("personal");
+                    notificationDto.setPriority("high");
+                    notificationDto.setReceiverId(todo.getAssigneeId());
+                    notificationDto.setProjectId(todo.getProjectId());
+                    notificationDto.setPushImmediately(true);
+                    
+                    // 发送个人通知
+                    notificationService.createPersonalNotification(notificationDto, adminId, adminName);
+                    
+                    log.info("已为用户 {} 发送待办创建通知，待办：{}", assignee.getUsername(), todo.getTitle());
+                }
+            }
+            
+            // 如果待办属于某个项目，发送项目通知给项目成员
+            if (todo.getProjectId() != null) {
+                Project project = projectMapper.selectById(todo.getProjectId());
+                if (project != null) {
+                    NotificationCreateDto projectNotificationDto = new NotificationCreateDto();
+                    projectNotificationDto.setTitle("项目新待办事项");
+                    projectNotificationDto.setContent(String.format("项目 %s 有新的待办事项：%s", 
+                        project.getProjectName(), todo.getTitle()));
+                    projectNotificationDto.setType("project");
+                    projectNotificationDto.setPriority("normal");
+                    projectNotificationDto.setProjectId(todo.getProjectId());
+                    projectNotificationDto.setPushImmediately(true);
+                    
+                    // 发送项目通知
+                    notificationService.createProjectNotification(projectNotificationDto, adminId, adminName);
+                    
+                    log.info("已为项目 {} 发送待办创建通知，待办：{}", project.getProjectName(), todo.getTitle());
+                }
+            }
+            
+        } catch (Exception e) {
+            log.error("发送待办创建通知失败：{}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 发送批量创建的合并通知
+     */
+    private void sendBatchCreationNotifications(List<Todo> todos, Long adminId) {
+        try {
+            UserSummary admin = userDirectory.get(adminId);
+            String adminName = admin != null ? admin.getUsername() : "管理员";
+            
+            // 按分配人合并，每人一条个人通知
+            Map<Long, List<Todo>> todosByAssignee = todos.stream()
+                    .filter(todo -> todo.getAssigneeId() != null)
+                    .collect(Collectors.groupingBy(Todo::getAssigneeId, LinkedHashMap::new, Collectors.toList()));
+            List<Long> assigneeIds = userDirectory.filterExisting(todosByAssignee.keySet());
+            for (Long assigneeId : assigneeIds) {
+                List<Todo> assigned = todosByAssignee.get(assigneeId);
+                NotificationCreateDto notificationDto = new NotificationCreateDto();
+                notificationDto.setTitle("新待办事项分配");
+                notificationDto.setContent(String.format("您有 %d 项新的待办事项：%s",
+                    assigned.size(), joinTitles(assigned)));
+                notificationDto.setType("personal");
+                notificationDto.setPriority("high");
+                notificationDto.setReceiverId(assigneeId);
+                // 同一项目时附带项目ID
+                Long projectId = assigned.get(0).getProjectId();
+                boolean sameProject = assigned.stream().allMatch(todo -> java.util.Objects.equals(projectId, todo.getProjectId()));
+                notificationDto.setProjectId(sameProject ? projectId : null);
+                notificationDto.setPushImmediately(true);
+                
+                notificationService.createPersonalNotification(notificationDto, adminId, adminName);
+            }
+            
+            // 按项目合并，每个项目一条项目通知
+            Map<Long, List<Todo>> todosByProject = todos.stream()
+                    .filter(todo -> todo.getProjectId() != null)
+                    .collect(Collectors.groupingBy(Todo::getProjectId, LinkedHashMap::new, Collectors.toList()));
+            if (!todosByProject.isEmpty()) {
+                Map<Long, Project> projects = projectMapper.selectBatchIds(todosByProject.keySet()).stream()
+                        .collect(Collectors.toMap(Project::getId, Function.identity()));
+                for (Map.Entry<Long, List<Todo>> entry : todosByProject.entrySet()) {
+                    Project project = projects.get(entry.getKey());
+                    if (project == null) {
+                        continue;
+                    }
+                    NotificationCreateDto projectNotificationDto = new NotificationCreateDto();
+                    projectNotificationDto.setTitle("项目新待办事项");
+                    projectNotificationDto.setContent(String.format("项目 %s 新增 %d 项待办事项：%s",
+                        project.getProjectName(), entry.getValue().size(), joinTitles(entry.getValue())));
+                    projectNotificationDto.setType("project");
+                    projectNotificationDto.setPriority("normal");
+                    projectNotificationDto.setProjectId(entry.getKey());
+                    projectNotificationDto.setPushImmediately(true);
+                    
+                    notificationService.createProjectNotification(projectNotificationDto, adminId, adminName);
+                }
+            }
+            
+            log.info("批量创建 {} 项待办，已向 {} 位分配人、{} 个项目发送合并通知",
+                todos.size(), assigneeIds.size(), todosByProject.size());
+            
+        } catch (Exception e) {
+            log.error("发送批量创建通知失败：{}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 发送批量修改的合并通知
+     */
+    private void sendBulkUpdateNotifications(TodosBulkUpdatedEvent event) {
+        try {
+            Long operatorId = event.getOperatorId();
+            UserSummary operator = userDirectory.get(operatorId);
+            String operatorName = operator != null ? operator.getUsername() : "管理员";
+            String newStatus = event.getNewStatus();
+            Long newAssigneeId = event.getNewAssigneeId();
+            String reason = event.getUpdateReason() != null && !event.getUpdateReason().trim().isEmpty()
+                    ? "，修改原因：" + event.getUpdateReason() : "";
+            
+            // 修改后的分配人：每人一条，说明其名下哪些任务发生了什么变化
+            Map<Long, List<Todo>> todosByHolder = event.getOriginalTodos().stream()
+                    .filter(todo -> (newAssigneeId != null ? newAssigneeId : todo.getAssigneeId()) != null)
+                    .collect(Collectors.groupingBy(
+                        todo -> newAssigneeId != null ? newAssigneeId : todo.getAssigneeId(),
+                        LinkedHashMap::new, Collectors.toList()));
+            todosByHolder.remove(operatorId);
+            String action;
+            if (newAssigneeId != null && newStatus != null) {
+                action = "分配给您并切换为" + getStatusText(newStatus) + "状态";
+            } else if (newAssigneeId != null) {
+                action = "分配给您";
+            } else {
+                action = "切换为" + getStatusText(newStatus) + "状态";
+            }
+            for (Long holderId : userDirectory.filterExisting(todosByHolder.keySet())) {
+                List<Todo> todos = todosByHolder.get(holderId);
+                NotificationCreateDto notificationDto = new NotificationCreateDto();
+                notificationDto.setTitle("任务批量变更");
+                notificationDto.setContent(String.format("%s 将 %d 项任务%s：%s%s",
+                    operatorName, todos.size(), action, joinTitles(todos), reason));
+                notificationDto.setType("personal");
+                notificationDto.setPriority("high");
+                notificationDto.setReceiverId(holderId);
+                notificationDto.setPushImmediately(true);
+                notificationService.createPersonalNotification(notificationDto, operatorId, operatorName);
+            }
+            
+            // 重新分配时，原分配人每人一条
+            if (newAssigneeId != null) {
+                Map<Long, List<Todo>> todosByOriginal = event.getOriginalTodos().stream()
+                        .filter(todo -> todo.getAssigneeId() != null
+                                && !todo.getAssigneeId().equals(newAssigneeId)
+                                && !todo.getAssigneeId().equals(operatorId))
+                        .collect(Collectors.groupingBy(Todo::getAssigneeId, LinkedHashMap::new, Collectors.toList()));
+                for (Long originalAssigneeId : userDirectory.filterExisting(todosByOriginal.keySet())) {
+                    List<Todo> todos = todosByOriginal.get(originalAssigneeId);
+                    NotificationCreateDto notificationDto = new NotificationCreateDto();
+                    notificationDto.setTitle("您的任务被重新分配");
+                    notificationDto.setContent(String.format("您的 %d 项任务已被管理员重新分配：%s%s",
+                        todos.size(), joinTitles(todos), reason));
+                    notificationDto.setType("personal");
+                    notificationDto.setPriority("normal");
+                    notificationDto.setReceiverId(originalAssigneeId);
+                    notificationDto.setPushImmediately(true);
+                    notificationService.createPersonalNotification(notificationDto, operatorId, operatorName);
+                }
+            }
+            
+            // 普通用户批量修改状态时，与单条修改一样通知所有管理员
+            if (!event.isOperatorAdmin() && newStatus != null) {
+                List<Long> adminIds = userRoster.getUserIdsByAuth("admin");
+                if (!adminIds.isEmpty()) {
+                    NotificationCreateDto notificationDto = new NotificationCreateDto();
+                    notificationDto.setTitle("任务状态变更通知");
+                    notificationDto.setContent(String.format("%s将 %d 项任务切换为%s状态：%s",
+                        operatorName, event.getOriginalTodos().size(), getStatusText(newStatus),
+                        joinTitles(event.getOriginalTodos())));
+                    notificationDto.setType("personal");
+                    notificationDto.setPriority("normal");
+                    notificationDto.setPushImmediately(true);
+                    notificationService.createPersonalNotifications(notificationDto, adminIds, operatorId, operatorName);
+                }
+            }
+            
+            log.info("批量修改 {} 项待办，已发送合并通知", event.getOriginalTodos().size());
+            
+        } catch (Exception e) {
+            log.error("发送批量修改通知失败：{}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 拼接待办标题，超出上限时以“等N项”结尾
+     */
+    private String joinTitles(List<Todo> todos) {
+        String titles = todos.stream()
+                .limit(MAX_TITLES_IN_DIGEST)
+                .map(Todo::getTitle)
+                .collect(Collectors.joining("、"));
+        if (todos.size() > MAX_TITLES_IN_DIGEST) {
+            titles += " 等" + todos.size() + "项";
+        }
+        return titles;
+    }
+    
+    /**
+     * 发送任务状态变更通知
+     */
+    private void sendTaskStatusChangeNotification(Todo todo, Long operatorUserId) {
+        try {
+            // 获取操作用户信息
+            UserSummary operator = userDirectory.get(operatorUserId);
+            if (operator == null) {
+                log.warn("操作用户不存在，ID: {}", operatorUserId);
+                return;
+            }
+            
+            // 从用户名册获取所有管理员
+            List<Long> adminIds = userRoster.getUserIdsByAuth("admin");
+            if (adminIds.isEmpty()) {
+                log.warn("没有找到管理员用户");
+                return;
+            }
+            
+            // 构建通知内容
+            String statusText = getStatusText(todo.getStatus());
+            String operatorName = operator.getUsername();
+            String todoTitle = todo.getTitle();
+            
+            String notificationContent = String.format("%s将%s任务切换为%s状态", 
+                operatorName, todoTitle, statusText);
+            
+            // 一次批量写入并推送给所有管理员
+            NotificationCreateDto notificationDto = new NotificationCreateDto();
+            notificationDto.setTitle("任务状态变更通知");
+            notificationDto.setContent(notificationContent);
+            notificationDto.setType("personal");
+            notificationDto.setPriority("normal");
+            notificationDto.setPushImmediately(true);
+            
+            notificationService.createPersonalNotifications(notificationDto, adminIds,
+                operatorUserId, operatorName);
+            
+            log.info("已向 {} 位管理员发送任务状态变更通知: {}", 
+                adminIds.size(), notificationContent);
+            
+        } catch (Exception e) {
+            log.error("发送任务状态变更通知失败：{}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 按分配人合并发送逾期通知
+     */
+    private void sendOverdueNotifications(List<Todo> todos) {
+        try {
+            Map<Long, List<Todo>> todosByAssignee = todos.stream()
+                    .filter(todo -> todo.getAssigneeId() != null)
+                    .collect(Collectors.groupingBy(Todo::getAssigneeId, LinkedHashMap::new, Collectors.toList()));
+            for (Map.Entry<Long, List<Todo>> entry : todosByAssignee.entrySet()) {
+                List<Todo> overdue = entry.getValue();
+                NotificationCreateDto notificationDto = new NotificationCreateDto();
+                notificationDto.setTitle("待办事项已逾期");
+                notificationDto.setContent(String.format("您有 %d 项待办事项已超过截止时间：%s",
+                    overdue.size(), joinTitles(overdue)));
+                notificationDto.setType("personal");
+                notificationDto.setPriority("high");
+                notificationDto.setReceiverId(entry.getKey());
+                notificationDto.setPushImmediately(true);
+                
+                notificationService.createPersonalNotification(notificationDto, null,
+                    NotificationService.SYSTEM_SENDER_NAME);
+            }
+            log.info("{} 项待办逾期，已向 {} 位分配人发送合并通知", todos.size(), todosByAssignee.size());
+        } catch (Exception e) {
+            log.error("发送逾期通知失败：{}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 获取状态的中文描述
+     */
+    private String getStatusText(String status) {
+        switch (status) {
+            case "pending":
+                return "待处理";
+            case "in_progress":
+                return "进行中";
+            case "completed":
+                return "已完成";
+            default:
+                return status;
+        }
+    }
+    
+    /**
+     * 发送管理员修改通知
+     */
+    private void sendAdminUpdateNotification(Todo updatedTodo, Long adminId, String adminName, String originalStatus, Long originalAssigneeId, String updateReason) {
+        try {
+            // 构建修改内容描述
+            StringBuilder changeDescription = new StringBuilder();
+            changeDescription.append("管理员 ").append(adminName).append(" 修改了任务 \"").append(updatedTodo.getTitle()).append("\"");
+            
+            if (updateReason != null && !updateReason.trim().isEmpty()) {
+                changeDescription.append("，修改原因：").append(updateReason);
+            }
+            
+            // 如果状态发生变化，添加状态变更描述
+            if (!updatedTodo.getStatus().equals(originalStatus)) {
+                changeDescription.append("，状态从 ").append(getStatusText(originalStatus))
+                               .append(" 变更为 ").append(getStatusText(updatedTodo.getStatus()));
+            }
+            
+            // 如果分配人发生变化，添加分配人变更描述
+            if (!java.util.Objects.equals(updatedTodo.getAssigneeId(), originalAssigneeId)) {
+                Map<Long, UserSummary> assignees = userDirectory.getAll(
+                        Arrays.asList(updatedTodo.getAssigneeId(), originalAssigneeId));
+                UserSummary newAssignee = assignees.get(updatedTodo.getAssigneeId());
+                UserSummary oldAssignee = assignees.get(originalAssigneeId);
+                
+                changeDescription.append("，分配人从 ")
+                               .append(oldAssignee != null ? oldAssignee.getUsername() : "未分配")
+                               .append(" 变更为 ")
+                               .append(newAssignee != null ? newAssignee.getUsername() : "未分配");
+            }
+            
+            // 发送通知给当前分配人（如果存在且不是管理员本人）
+            if (updatedTodo.getAssigneeId() != null && !updatedTodo.getAssigneeId().equals(adminId)) {
+                NotificationCreateDto assigneeNotification = new NotificationCreateDto();
+                assigneeNotification.setTitle("任务被管理员修改");
+                assigneeNotification.setContent(changeDescription.toString());
+                assigneeNotification.setType("personal");
+                assigneeNotification.setPriority("high");
+                assigneeNotification.setReceiverId(updatedTodo.getAssigneeId());
+                assigneeNotification.setProjectId(updatedTodo.getProjectId());
+                assigneeNotification.setPushImmediately(true);
+                
+                notificationService.createPersonalNotification(assigneeNotification, adminId, adminName);
+                log.info("已向分配人发送管理员修改通知，任务：{}", updatedTodo.getTitle());
+            }
+            
+            // 如果原分配人发生变化且原分配人不是当前分配人和管理员，也发送通知
+            if (originalAssigneeId != null && !originalAssigneeId.equals(adminId) 
+                && !java.util.Objects.equals(originalAssigneeId, updatedTodo.getAssigneeId())) {
+                NotificationCreateDto originalAssigneeNotification = new NotificationCreateDto();
+                originalAssigneeNotification.setTitle("您的任务被重新分配");
+                originalAssigneeNotification.setContent("任务 \"" + updatedTodo.getTitle() + "\" 已被管理员重新分配");
+                originalAssigneeNotification.setType("personal");
+                originalAssigneeNotification.setPriority("normal");
+                originalAssigneeNotification.setReceiverId(originalAssigneeId);
+                originalAssigneeNotification.setProjectId(updatedTodo.getProjectId());
+                originalAssigneeNotification.setPushImmediately(true);
+                
+                notificationService.createPersonalNotification(originalAssigneeNotification, adminId, adminName);
+                log.info("已向原分配人发送任务重新分配通知，任务：{}", updatedTodo.getTitle());
+            }
+            
+            // 如果任务属于某个项目，发送项目通知
+            if (updatedTodo.getProjectId() != null) {
+                Project project = projectMapper.selectById(updatedTodo.getProjectId());
+                if (project != null) {
+                    NotificationCreateDto projectNotification = new NotificationCreateDto();
+                    projectNotification.setTitle("项目任务被管理员修改");
+                    projectNotification.setContent("项目 " + project.getProjectName() + " 中的" + changeDescription.toString());
+                    projectNotification.setType("project");
+                    projectNotification.setPriority("normal");
+                    projectNotification.setProjectId(updatedTodo.getProjectId());
+                    projectNotification.setPushImmediately(true);
+                    
+                    notificationService.createProjectNotification(projectNotification, adminId, adminName);
+                    log.info("已发送项目任务修改通知，项目：{}，任务：{}", project.getProjectName(), updatedTodo.getTitle());
+                }
+            }
+            
+        } catch (Exception e) {
+            log.error("发送管理员修改通知失败：{}", e.getMessage(), e);
+        }
+    }
+}
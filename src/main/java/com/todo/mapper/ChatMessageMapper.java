@@ -25,8 +25,9 @@ public interface ChatMessageMapper extends BaseMapper<ChatMessage> {
     
     /**
      * 获取用户的聊天联系人列表
+     * contactIds 为可作为联系人的用户ID（来自用户名册），不能为空
      */
-    List<ChatContactVo> getChatContacts(@Param("userId") Long userId, @Param("userAuth") String userAuth);
+    List<ChatContactVo> getChatContacts(@Param("userId") Long userId, @Param("contactIds") List<Long> contactIds);
     
     /**
      * 标记消息为已读
@@ -43,4 +43,9 @@ public interface NotificationMapper extends BaseMapper<Notification> {
      * 获取未读通知数量
      */
     int getUnreadCount(@Param("userId") Long userId);
+    
+    /**
+     * 批量插入通知（多行INSERT，回填自增ID）
+     */
+    int insertBatch(@Param("list") List<Notification> notifications);
 } 
\ No newline at end of file
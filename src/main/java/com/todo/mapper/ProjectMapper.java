@@ -31,4 +31,9 @@ public interface ProjectMapper extends BaseMapper<Project> {
      * 获取项目分配的用户列表
      */
     List<ProjectDetailVo.AssignedUser> selectAssignedUsersByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * 计算项目列表结果集的校验值（项目、项目分配、用户的数量及最大修改时间或ID）
+     */
+    String selectListFingerprint();
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.todo.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 定时任务租约Mapper
+ */
+@Mapper
+public interface SchedulerLeaseMapper {
+
+    /**
+     * 租约不存在、已过期或由自己持有时，写入持有人并续期；否则保持不变
+     */
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 查询租约当前持有人（未过期）
+     */
+    String selectOwner(@Param("name") String name);
+
+    /**
+     * 释放自己持有的租约
+     */
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
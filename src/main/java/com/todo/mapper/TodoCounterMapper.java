@@ -0,0 +1,29 @@
+package com.todo.mapper;
+
+import com.todo.entity.TodoCounter;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 待办计数Mapper（复合主键，不继承BaseMapper）
+ */
+@Mapper
+public interface TodoCounterMapper {
+
+    /**
+     * 批量累加计数，todoCount 为变化量，不存在的计数行自动创建
+     */
+    int applyDeltas(@Param("list") List<TodoCounter> deltas);
+
+    /**
+     * 查询某个范围的各状态计数
+     */
+    List<TodoCounter> selectByScope(@Param("scopeType") String scopeType, @Param("scopeId") Long scopeId);
+
+    /**
+     * 查询某类范围的全部计数
+     */
+    List<TodoCounter> selectByScopeType(@Param("scopeType") String scopeType);
+}
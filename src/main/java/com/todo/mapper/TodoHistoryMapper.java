@@ -0,0 +1,17 @@
+package com.todo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.todo.entity.TodoHistory;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface TodoHistoryMapper extends BaseMapper<TodoHistory> {
+
+    /**
+     * 多行INSERT批量写入变更历史
+     */
+    int insertBatch(@Param("list") List<TodoHistory> histories);
+}
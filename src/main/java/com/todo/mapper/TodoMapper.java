@@ -1,11 +1,17 @@
 package com.todo.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.todo.entity.Todo;
+import com.todo.utils.TodoCursor;
+import com.todo.vo.TodoStatusCountVo;
 import com.todo.vo.TodoVo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Mapper
@@ -25,4 +31,56 @@ public interface TodoMapper extends BaseMapper<Todo> {
      * 获取待办详情（包含用户信息）
      */
     TodoVo getTodoDetail(@Param("todoId") Long todoId);
+    
+    /**
+     * 游标分页查询待办列表，按 (start_time, created_time, id) 升序，不使用OFFSET
+     */
+    List<Todo> selectTodoPage(@Param(Constants.WRAPPER) Wrapper<Todo> queryWrapper,
+                              @Param("cursor") TodoCursor cursor,
+                              @Param("limit") int limit);
+    
+    /**
+     * 按日、状态统计日期范围内每天有时间重叠的待办数量（递归CTE生成日期，一条分组查询完成）
+     */
+    List<TodoStatusCountVo> countByDayAndStatus(@Param(Constants.WRAPPER) Wrapper<Todo> queryWrapper,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+    
+    /**
+     * 全文搜索标题和描述，按相关度降序
+     */
+    List<Todo> searchTodos(@Param(Constants.WRAPPER) Wrapper<Todo> queryWrapper,
+                           @Param("keyword") String keyword,
+                           @Param("limit") int limit);
+    
+    /**
+     * 按列表条件查询归档表
+     */
+    List<Todo> selectArchivedList(@Param(Constants.WRAPPER) Wrapper<Todo> queryWrapper);
+    
+    /**
+     * 从归档表获取待办详情（包含用户信息）
+     */
+    TodoVo getArchivedTodoDetail(@Param("todoId") Long todoId);
+    
+    /**
+     * 将指定待办复制到归档表
+     */
+    int copyToArchive(@Param("ids") List<Long> todoIds);
+    
+    /**
+     * 多行INSERT批量插入重复规则生成的待办，同一规则同一日期已存在时跳过（不回填ID）
+     * 只有唯一键冲突被忽略，其他错误照常抛出并回滚整批
+     */
+    int insertOccurrences(@Param("list") List<Todo> todos);
+    
+    /**
+     * 多行INSERT批量插入待办事项，自增ID回填到实体
+     */
+    int insertBatch(@Param("list") List<Todo> todos);
+    
+    /**
+     * 流式读取待办列表（需在事务内遍历，逐行从数据库读取）
+     */
+    Cursor<Todo> streamTodoList(@Param(Constants.WRAPPER) Wrapper<Todo> queryWrapper);
 }
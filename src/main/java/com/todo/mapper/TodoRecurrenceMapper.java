@@ -0,0 +1,9 @@
+package com.todo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.todo.entity.TodoRecurrence;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface TodoRecurrenceMapper extends BaseMapper<TodoRecurrence> {
+}
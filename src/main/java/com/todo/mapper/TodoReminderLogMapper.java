@@ -0,0 +1,18 @@
+package com.todo.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待办到期提醒记录Mapper
+ */
+@Mapper
+public interface TodoReminderLogMapper {
+
+    /**
+     * 记录已发送的提醒，同一待办同一截止时间已存在记录时忽略并返回0
+     */
+    int insertIgnore(@Param("todoId") Long todoId, @Param("dueDate") LocalDateTime dueDate);
+}
@@ -0,0 +1,29 @@
+package com.todo.mapper;
+
+import com.todo.entity.TodoScopeVersion;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 待办范围变更版本Mapper（复合主键，不继承BaseMapper）
+ */
+@Mapper
+public interface TodoScopeVersionMapper {
+
+    /**
+     * 批量累加版本号，version 为变化量，不存在的行自动创建
+     */
+    int applyDeltas(@Param("list") List<TodoScopeVersion> deltas);
+
+    /**
+     * 查询某个范围的版本号，不存在时为0
+     */
+    long selectVersion(@Param("scopeType") String scopeType, @Param("scopeId") Long scopeId);
+
+    /**
+     * 查询某类范围的版本号之和，不存在时为0
+     */
+    long sumVersions(@Param("scopeType") String scopeType);
+}
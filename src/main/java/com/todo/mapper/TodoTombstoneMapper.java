@@ -0,0 +1,17 @@
+package com.todo.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.todo.entity.TodoTombstone;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface TodoTombstoneMapper extends BaseMapper<TodoTombstone> {
+
+    /**
+     * 多行INSERT批量记录墓碑
+     */
+    int insertBatch(@Param("list") List<TodoTombstone> tombstones);
+}
@@ -0,0 +1,283 @@
+package com.todo.reminder;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.todo.dto.NotificationCreateDto;
+import com.todo.entity.Todo;
+import com.todo.event.TodoChangedEvent;
+import com.todo.mapper.TodoMapper;
+import com.todo.mapper.TodoReminderLogMapper;
+import com.todo.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 待办到期提醒调度
+ * 把未来一段时间（预加载窗口）内需要提醒的待办放入内存分层时间轮，到达“截止时间-提前量”时
+ * 通过通知服务发送个人通知并经WebSocket推送给分配人。
+ * 待办写入事务提交后由变更事件重新调度或取消；窗口之外的待办由定时补充加载，不做逐分钟轮询。
+ * 发送前按主键回查待办并写入提醒记录（唯一键去重），保证多节点部署或重启后同一截止时间只提醒一次。
+ */
+@Slf4j
+@Component
+public class DueDateReminderScheduler {
+
+    private static final String STATUS_COMPLETED = "completed";
+
+    private static final long TICK_MILLIS = 1000L;
+
+    private static final int WHEEL_SIZE = 60;
+
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private TodoMapper todoMapper;
+
+    @Autowired
+    private TodoReminderLogMapper todoReminderLogMapper;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    @Qualifier("notificationExecutor")
+    private Executor notificationExecutor;
+
+    @Value("${todo.reminder.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 截止前多少分钟提醒
+     */
+    @Value("${todo.reminder.lead-minutes:60}")
+    private long leadMinutes;
+
+    /**
+     * 预加载窗口（分钟），提醒时间在窗口内的待办保存在时间轮中
+     */
+    @Value("${todo.reminder.horizon-minutes:180}")
+    private long horizonMinutes;
+
+    private final TimingWheel<Reminder> wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    /**
+     * 待办ID到时间轮任务的索引，用于重新调度和取消
+     */
+    private final Map<Long, TimingWheel.TimerTask<Reminder>> tasks = new HashMap<>();
+
+    /**
+     * 已加载到的提醒时间上界，之后的待办由下次补充加载放入时间轮
+     */
+    private LocalDateTime loadedUntil;
+
+    /**
+     * 补充加载期间被变更事件处理过的待办ID，加载结果中跳过这些待办
+     */
+    private Set<Long> changedDuringLoad;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            refill();
+        }
+    }
+
+    /**
+     * 定时把预加载窗口向后推进，间隔为窗口的一半，保证窗口内始终有已加载的提醒
+     */
+    @Scheduled(fixedDelayString = "#{${todo.reminder.horizon-minutes:180} / 2}",
+               initialDelayString = "#{${todo.reminder.horizon-minutes:180} / 2}",
+               timeUnit = TimeUnit.MINUTES)
+    public void refill() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusMinutes(horizonMinutes);
+        LocalDateTime dueAfter;
+        synchronized (this) {
+            // 首次加载时截止时间已进入提前量范围的待办也需要提醒（重复由提醒记录去重）
+            dueAfter = loadedUntil != null ? loadedUntil.plusMinutes(leadMinutes) : now;
+            if (dueAfter.isBefore(now)) {
+                dueAfter = now;
+            }
+            // 先推进窗口，加载期间提交的写入由变更事件直接调度
+            loadedUntil = until;
+            changedDuringLoad = new HashSet<>();
+        }
+
+        List<Todo> todos;
+        Set<Long> changedIds;
+        try {
+            QueryWrapper<Todo> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id", "due_date")
+                        .ne("status", STATUS_COMPLETED)
+                        .gt("due_date", dueAfter)
+                        .le("due_date", until.plusMinutes(leadMinutes));
+            todos = todoMapper.selectList(queryWrapper);
+        } finally {
+            synchronized (this) {
+                changedIds = changedDuringLoad;
+                changedDuringLoad = null;
+            }
+        }
+
+        int added = 0;
+        synchronized (this) {
+            for (Todo todo : todos) {
+                // 加载期间被修改过的待办以变更事件为准，查询结果可能已过时
+                if (!changedIds.contains(todo.getId())) {
+                    schedule(todo.getId(), todo.getDueDate());
+                    added++;
+                }
+            }
+        }
+        log.info("到期提醒已加载至 {}，本次加载 {} 条，时间轮中共 {} 条", until, added, size());
+    }
+
+    /**
+     * 时钟推进，到期的提醒交给通知线程池发送
+     */
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void tick() {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(System.currentTimeMillis(), task -> {
+                tasks.remove(task.getPayload().todoId, task);
+                due.add(task.getPayload());
+            });
+        }
+        for (Reminder reminder : due) {
+            notificationExecutor.execute(() -> remind(reminder));
+        }
+    }
+
+    /**
+     * 待办写入事务提交后重新调度：已完成或已删除的取消，截止时间变化的按新时间调度
+     */
+    @TransactionalEventListener
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Todo after = event.getAfter();
+        synchronized (this) {
+            if (loadedUntil == null) {
+                return;
+            }
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(event.getTodoId());
+            }
+            if (after == null || STATUS_COMPLETED.equals(after.getStatus()) || after.getDueDate() == null) {
+                cancel(event.getTodoId());
+                return;
+            }
+            if (after.getDueDate().minusMinutes(leadMinutes).isAfter(loadedUntil)) {
+                // 窗口之外，由补充加载处理
+                cancel(event.getTodoId());
+                return;
+            }
+            schedule(after.getId(), after.getDueDate());
+        }
+    }
+
+    /**
+     * 时间轮中的提醒数
+     */
+    public synchronized int size() {
+        return tasks.size();
+    }
+
+    private void schedule(Long todoId, LocalDateTime dueDate) {
+        TimingWheel.TimerTask<Reminder> existing = tasks.get(todoId);
+        if (existing != null) {
+            if (existing.getPayload().dueDate.equals(dueDate)) {
+                return;
+            }
+            existing.cancel();
+            tasks.remove(todoId);
+        }
+        if (!dueDate.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        long remindAt = toMillis(dueDate.minusMinutes(leadMinutes));
+        TimingWheel.TimerTask<Reminder> task = new TimingWheel.TimerTask<>(new Reminder(todoId, dueDate), remindAt);
+        if (wheel.add(task)) {
+            tasks.put(todoId, task);
+        } else {
+            // 已进入提醒时间（截止时间不足提前量），立即发送
+            Reminder reminder = task.getPayload();
+            notificationExecutor.execute(() -> remind(reminder));
+        }
+    }
+
+    private void cancel(Long todoId) {
+        TimingWheel.TimerTask<Reminder> task = tasks.remove(todoId);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    private void remind(Reminder reminder) {
+        try {
+            Todo todo = todoMapper.selectById(reminder.todoId);
+            if (todo == null || todo.getAssigneeId() == null || STATUS_COMPLETED.equals(todo.getStatus())
+                    || !reminder.dueDate.equals(todo.getDueDate())) {
+                return;
+            }
+            if (todoReminderLogMapper.insertIgnore(todo.getId(), todo.getDueDate()) == 0) {
+                // 其他节点已发送过该截止时间的提醒
+                return;
+            }
+
+            NotificationCreateDto notificationDto = new NotificationCreateDto();
+            notificationDto.setTitle("待办即将到期");
+            notificationDto.setContent(String.format("待办事项 %s 将于 %s 到期，请及时处理",
+                    todo.getTitle(), todo.getDueDate().format(DUE_FORMAT)));
+            notificationDto.setPriority("high");
+            notificationDto.setReceiverId(todo.getAssigneeId());
+            notificationDto.setProjectId(todo.getProjectId());
+            notificationDto.setPushImmediately(true);
+            notificationService.createPersonalNotification(notificationDto, null,
+                    NotificationService.SYSTEM_SENDER_NAME);
+
+            log.info("已发送待办到期提醒，待办ID: {}，分配人: {}", todo.getId(), todo.getAssigneeId());
+        } catch (Exception e) {
+            log.error("发送待办到期提醒失败，待办ID: {}", reminder.todoId, e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static class Reminder {
+
+        private final Long todoId;
+
+        private final LocalDateTime dueDate;
+
+        private Reminder(Long todoId, LocalDateTime dueDate) {
+            this.todoId = todoId;
+            this.dueDate = dueDate;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.todo.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ * 每层有 wheelSize 个槽，槽宽为下一层的整圈时长；超出本层范围的任务放入上一层（按需创建）。
+ * 添加和取消为 O(1)，时钟每前进一格只处理到期槽中的任务；上层槽到期时把任务降级放回下层。
+ * 非线程安全，由调用方加锁。
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+
+    private final int wheelSize;
+
+    /**
+     * 本层整圈时长
+     */
+    private final long interval;
+
+    private final List<TimerTask<T>>[] buckets;
+
+    /**
+     * 本层当前时间（按槽宽向下取整）
+     */
+    private long currentTime;
+
+    private TimingWheel<T> overflowWheel;
+
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.interval = tickMillis * wheelSize;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.currentTime = startMillis - startMillis % tickMillis;
+    }
+
+    /**
+     * 添加任务，已到期（不足一个最小槽宽）时返回false，由调用方立即执行
+     */
+    public boolean add(TimerTask<T> task) {
+        if (task.isCancelled()) {
+            return true;
+        }
+        long expireAt = task.getExpireAt();
+        if (expireAt < currentTime + tickMillis) {
+            return false;
+        }
+        if (expireAt < currentTime + interval) {
+            buckets[(int) ((expireAt / tickMillis) % wheelSize)].add(task);
+            size++;
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflowWheel.add(task);
+    }
+
+    /**
+     * 时钟推进到指定时间，到期的任务交给 expired，已取消的任务直接丢弃
+     */
+    public void advanceTo(long nowMillis, Consumer<TimerTask<T>> expired) {
+        advance(nowMillis, task -> {
+            if (!task.isCancelled() && !add(task)) {
+                expired.accept(task);
+            }
+        });
+    }
+
+    private void advance(long nowMillis, Consumer<TimerTask<T>> reinsert) {
+        while (nowMillis >= currentTime + tickMillis) {
+            currentTime += tickMillis;
+            List<TimerTask<T>> bucket = buckets[(int) ((currentTime / tickMillis) % wheelSize)];
+            if (!bucket.isEmpty()) {
+                List<TimerTask<T>> due = new ArrayList<>(bucket);
+                bucket.clear();
+                size -= due.size();
+                due.forEach(reinsert);
+            }
+            if (overflowWheel != null) {
+                overflowWheel.advance(currentTime, reinsert);
+            }
+        }
+    }
+
+    /**
+     * 各层槽中的任务总数（含已取消但尚未到期清理的任务）
+     */
+    public int size() {
+        return size + (overflowWheel != null ? overflowWheel.size() : 0);
+    }
+
+    /**
+     * 时间轮中的任务，取消后在所在槽到期时丢弃
+     */
+    public static class TimerTask<T> {
+
+        private final T payload;
+
+        private final long expireAt;
+
+        private volatile boolean cancelled;
+
+        public TimerTask(T payload, long expireAt) {
+            this.payload = payload;
+            this.expireAt = expireAt;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getExpireAt() {
+            return expireAt;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
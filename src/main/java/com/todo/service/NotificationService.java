@@ -17,6 +17,11 @@ import java.util.List;
  */
 public interface NotificationService {
     
+    /**
+     * 系统自动发出的通知（到期提醒等）的发送者名称，发送者ID为空
+     */
+    String SYSTEM_SENDER_NAME = "系统";
+    
     /**
      * 发送通知
      */
@@ -51,4 +56,11 @@ public interface NotificationService {
      * 创建项目通知（内部使用）
      */
     Notification createProjectNotification(NotificationCreateDto dto, Long senderId, String senderName);
+    
+    /**
+     * 批量创建内容相同的个人通知（内部使用）
+     * 一条多行INSERT写入全部通知，并在一次遍历中推送
+     */
+    List<Notification> createPersonalNotifications(NotificationCreateDto dto, List<Long> receiverIds,
+                                                   Long senderId, String senderName);
 } 
\ No newline at end of file
@@ -21,6 +21,11 @@ public interface ProjectService {
      * 获取项目列表（根据用户权限返回不同数据）
      */
     List<ProjectVo> getProjectList(ProjectListQueryDto queryDto);
+    
+    /**
+     * 计算项目列表的ETag（不查询列表数据），用于条件请求
+     */
+    String getProjectListETag(ProjectListQueryDto queryDto);
 
     /**
      * 分配项目
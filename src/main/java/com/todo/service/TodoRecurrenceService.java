@@ -0,0 +1,37 @@
+package com.todo.service;
+
+import com.todo.dto.TodoRecurrenceCreateDto;
+import com.todo.dto.TodoRecurrenceQueryDto;
+import com.todo.vo.OperationResultVo;
+import com.todo.vo.TodoRecurrenceVo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 重复待办服务接口
+ */
+public interface TodoRecurrenceService {
+    
+    /**
+     * 创建重复规则（仅管理员），并立即生成预生成窗口内的待办
+     */
+    TodoRecurrenceVo createRecurrence(TodoRecurrenceCreateDto createDto);
+    
+    /**
+     * 获取重复规则列表（仅管理员）
+     */
+    List<TodoRecurrenceVo> getRecurrences(TodoRecurrenceQueryDto queryDto);
+    
+    /**
+     * 停用重复规则（仅管理员），已生成的待办保留
+     */
+    OperationResultVo disableRecurrence(TodoRecurrenceQueryDto queryDto);
+    
+    /**
+     * 为ID大于 afterId 的一批规则生成到 until（含）的待办（生成任务内部使用）
+     *
+     * @return 本批最后一条规则的ID，没有需要生成的规则时返回null
+     */
+    Long generateBatch(Long afterId, LocalDate until, int batchSize);
+}
@@ -1,15 +1,31 @@
 package com.todo.service;
 
+import com.todo.dto.TodoBatchCreateDto;
+import com.todo.dto.TodoBulkUpdateDto;
+import com.todo.dto.TodoCalendarQueryDto;
+import com.todo.dto.TodoChangesQueryDto;
 import com.todo.dto.TodoCreateDto;
 import com.todo.dto.TodoUpdateDto;
 import com.todo.dto.TodoQueryDto;
+import com.todo.dto.TodoSearchDto;
+import com.todo.dto.TodoStatsQueryDto;
 import com.todo.dto.TodoDeleteDto;
+import com.todo.dto.TodoHistoryQueryDto;
 import com.todo.dto.TodoStatusUpdateDto;
 import com.todo.dto.AdminTodoUpdateDto;
+import com.todo.entity.Todo;
+import com.todo.vo.CacheStatsVo;
+import com.todo.vo.TodoCalendarDayVo;
+import com.todo.vo.TodoChangesVo;
+import com.todo.vo.TodoHistoryPageVo;
+import com.todo.vo.TodoPageVo;
+import com.todo.vo.TodoStatsVo;
 import com.todo.vo.TodoVo;
 import com.todo.vo.OperationResultVo;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TodoService {
     
@@ -18,6 +34,11 @@ public interface TodoService {
      */
     TodoVo createTodo(TodoCreateDto todoCreateDto);
     
+    /**
+     * 批量创建待办事项，返回按提交顺序排列的新待办ID
+     */
+    List<Long> batchCreateTodos(TodoBatchCreateDto batchCreateDto);
+    
     /**
      * 更新待办事项
      */
@@ -33,6 +54,41 @@ public interface TodoService {
      */
     List<TodoVo> getTodoList(TodoQueryDto queryDto);
     
+    /**
+     * 计算待办列表的ETag（不查询列表数据），用于条件请求
+     */
+    String getTodoListETag(TodoQueryDto queryDto);
+    
+    /**
+     * 游标分页获取待办事项列表
+     */
+    TodoPageVo getTodoPage(TodoQueryDto queryDto);
+    
+    /**
+     * 游标分页获取待办的字段变更历史（按时间倒序）
+     */
+    TodoHistoryPageVo getTodoHistory(TodoHistoryQueryDto historyQueryDto);
+    
+    /**
+     * 流式获取待办事项列表，每读取一行即交给consumer处理
+     */
+    void streamTodoList(TodoQueryDto queryDto, Consumer<TodoVo> consumer);
+    
+    /**
+     * 增量同步：返回水位之后新增、修改的待办和被删除（或移出可见范围）的待办ID
+     */
+    TodoChangesVo getTodoChanges(TodoChangesQueryDto changesQueryDto);
+    
+    /**
+     * 全文搜索待办标题和描述，按相关度排序，权限过滤与待办列表一致
+     */
+    List<TodoVo> searchTodos(TodoSearchDto searchDto);
+    
+    /**
+     * 获取日期范围内每天各状态的待办数量（日历视图），权限过滤与待办列表一致
+     */
+    List<TodoCalendarDayVo> getTodoCalendar(TodoCalendarQueryDto calendarQueryDto);
+    
     /**
      * 获取待办详情
      */
@@ -47,4 +103,35 @@ public interface TodoService {
      * 管理员修改待办事项
      */
     TodoVo adminUpdateTodo(AdminTodoUpdateDto adminUpdateDto);
+
+    /**
+     * 批量修改待办状态或分配人（按ID列表或筛选条件），一条UPDATE完成
+     */
+    OperationResultVo bulkUpdateTodos(TodoBulkUpdateDto bulkUpdateDto);
+
+    /**
+     * 将一批已完成且早于截止时间点的待办移入归档表（归档任务内部使用）
+     *
+     * @return 本批归档数量，少于 batchSize 表示已全部归档
+     */
+    int archiveCompletedBatch(LocalDateTime cutoff, int batchSize);
+
+    /**
+     * 将一批已过截止时间的待办标记为逾期（逾期扫描任务内部使用）
+     * 按 (due_date, id) 键集顺序读取指定状态中尚未标记、位于游标之后的一批，一条UPDATE写入 overdue_at，不修改状态
+     *
+     * @return 本批被标记的待办（修改前的数据），少于 batchSize 表示该状态已扫描完
+     */
+    List<Todo> markOverdueBatch(String status, LocalDateTime now, LocalDateTime afterDueDate, Long afterId,
+                                int batchSize);
+
+    /**
+     * 获取项目或用户的各状态待办数量（读取计数表，不扫描待办）
+     */
+    List<TodoStatsVo> getTodoStats(TodoStatsQueryDto statsQueryDto);
+
+    /**
+     * 获取待办相关缓存的统计信息（仅管理员）
+     */
+    List<CacheStatsVo> getCacheStats(TodoQueryDto queryDto);
 }
@@ -26,6 +26,11 @@ public interface UserService {
      */
     List<UserVo> getUserList(UserListQueryDto queryDto);
     
+    /**
+     * 计算用户列表的ETag（不查询列表数据），用于条件请求
+     */
+    String getUserListETag(UserListQueryDto queryDto);
+    
     /**
      * 获取个人信息
      */
@@ -1,5 +1,6 @@
 package com.todo.service.impl;
 
+import com.todo.cache.UserRoster;
 import com.todo.dto.*;
 import com.todo.entity.ChatMessage;
 import com.todo.mapper.ChatMessageMapper;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,9 @@ public class ChatServiceImpl implements ChatService {
     @Autowired
     private ChatMessageMapper chatMessageMapper;
     
+    @Autowired
+    private UserRoster userRoster;
+    
     @Override
     public List<ChatMessageVo> getChatHistory(ChatHistoryQueryDto queryDto) {
         // 权限验证：用户只能查看与自己相关的聊天记录
@@ -52,7 +57,13 @@ public class ChatServiceImpl implements ChatService {
     @Override
     public List<ChatContactVo> getChatContacts(ChatContactsQueryDto queryDto) {
         // 所有用户都可以访问聊天功能
-        return chatMessageMapper.getChatContacts(queryDto.getUserId(), queryDto.getUserAuth());
+        // 管理员的联系人是所有普通用户，普通用户的联系人是所有管理员，候选人来自用户名册
+        String contactAuth = "admin".equals(queryDto.getUserAuth()) ? "user" : "admin";
+        List<Long> contactIds = userRoster.getUserIdsByAuth(contactAuth);
+        if (contactIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return chatMessageMapper.getChatContacts(queryDto.getUserId(), contactIds);
     }
     
     @Override
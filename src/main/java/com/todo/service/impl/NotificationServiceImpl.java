@@ -19,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,6 +30,11 @@ import java.util.UUID;
 @Service
 public class NotificationServiceImpl implements NotificationService {
     
+    /**
+     * 批量插入时每条INSERT语句包含的最大行数
+     */
+    private static final int BATCH_INSERT_SIZE = 500;
+    
     @Autowired
     private NotificationMapper notificationMapper;
     
@@ -175,6 +181,58 @@ public class NotificationServiceImpl implements NotificationService {
         return createNotification(dto, senderId, senderName);
     }
     
+    /**
+     * 批量创建个人通知
+     */
+    @Override
+    public List<Notification> createPersonalNotifications(NotificationCreateDto dto, List<Long> receiverIds,
+                                                          Long senderId, String senderName) {
+        List<Notification> notifications = new ArrayList<>();
+        if (receiverIds == null || receiverIds.isEmpty()) {
+            return notifications;
+        }
+        
+        boolean pushImmediately = dto.getPushImmediately() != null && dto.getPushImmediately();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long receiverId : receiverIds) {
+            Notification notification = new Notification();
+            notification.setTitle(dto.getTitle());
+            notification.setContent(dto.getContent());
+            notification.setType("personal");
+            notification.setPriority(dto.getPriority() != null ? dto.getPriority() : "normal");
+            notification.setSenderId(senderId);
+            notification.setSenderName(senderName);
+            notification.setReceiverId(receiverId);
+            notification.setProjectId(dto.getProjectId());
+            notification.setExpireTime(dto.getExpireTime());
+            notification.setExtraData(dto.getExtraData());
+            notification.setIsRead(false);
+            // 推送在写入后立即进行，直接以已推送状态写入，省去逐条UPDATE
+            notification.setIsPushed(pushImmediately);
+            notification.setCreateTime(now);
+            notification.setUpdateTime(now);
+            notifications.add(notification);
+        }
+        
+        for (int from = 0; from < notifications.size(); from += BATCH_INSERT_SIZE) {
+            int to = Math.min(from + BATCH_INSERT_SIZE, notifications.size());
+            notificationMapper.insertBatch(notifications.subList(from, to));
+        }
+        
+        if (pushImmediately) {
+            for (Notification notification : notifications) {
+                try {
+                    sendViaWebSocket(notification);
+                } catch (Exception e) {
+                    log.error("推送通知失败，ID: {}, 错误: {}", notification.getId(), e.getMessage(), e);
+                }
+            }
+        }
+        
+        log.info("批量创建通知成功，数量: {}, 标题: {}", notifications.size(), dto.getTitle());
+        return notifications;
+    }
+    
     /**
      * 创建通知（内部方法）
      */
@@ -209,6 +267,23 @@ public class NotificationServiceImpl implements NotificationService {
      * 通过WebSocket推送通知
      */
     private void pushNotificationViaWebSocket(Notification notification) {
+        try {
+            sendViaWebSocket(notification);
+            
+            // 标记为已推送
+            notification.setIsPushed(true);
+            notification.setUpdateTime(LocalDateTime.now());
+            notificationMapper.updateById(notification);
+            
+        } catch (Exception e) {
+            log.error("推送通知失败: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 按通知类型发送WebSocket消息
+     */
+    private void sendViaWebSocket(Notification notification) {
         WebSocketMessageDto message = new WebSocketMessageDto();
         message.setType("NOTIFICATION");
         message.setContent(notification);
@@ -217,32 +292,22 @@ public class NotificationServiceImpl implements NotificationService {
         message.setMessageId(UUID.randomUUID().toString());
         message.setTimestamp(System.currentTimeMillis());
         
-        try {
-            if ("system".equals(notification.getType())) {
-                // 系统通知广播给所有用户
-                webSocketService.broadcast(message);
-                log.info("系统通知已广播: {}", notification.getTitle());
-                
-            } else if ("project".equals(notification.getType()) && notification.getProjectId() != null) {
-                // 项目通知发送给项目成员
-                message.setProjectId(notification.getProjectId());
-                webSocketService.sendToProject(notification.getProjectId(), message);
-                log.info("项目通知已发送到项目 {}: {}", notification.getProjectId(), notification.getTitle());
-                
-            } else if ("personal".equals(notification.getType()) && notification.getReceiverId() != null) {
-                // 个人通知发送给特定用户
-                message.setReceiverId(notification.getReceiverId());
-                webSocketService.sendToUser(notification.getReceiverId(), message);
-                log.info("个人通知已发送给用户 {}: {}", notification.getReceiverId(), notification.getTitle());
-            }
+        if ("system".equals(notification.getType())) {
+            // 系统通知广播给所有用户
+            webSocketService.broadcast(message);
+            log.info("系统通知已广播: {}", notification.getTitle());
             
-            // 标记为已推送
-            notification.setIsPushed(true);
-            notification.setUpdateTime(LocalDateTime.now());
-            notificationMapper.updateById(notification);
+        } else if ("project".equals(notification.getType()) && notification.getProjectId() != null) {
+            // 项目通知发送给项目成员
+            message.setProjectId(notification.getProjectId());
+            webSocketService.sendToProject(notification.getProjectId(), message);
+            log.info("项目通知已发送到项目 {}: {}", notification.getProjectId(), notification.getTitle());
             
-        } catch (Exception e) {
-            log.error("推送通知失败: {}", e.getMessage(), e);
+        } else if ("personal".equals(notification.getType()) && notification.getReceiverId() != null) {
+            // 个人通知发送给特定用户
+            message.setReceiverId(notification.getReceiverId());
+            webSocketService.sendToUser(notification.getReceiverId(), message);
+            log.info("个人通知已发送给用户 {}: {}", notification.getReceiverId(), notification.getTitle());
         }
     }
 } 
\ No newline at end of file
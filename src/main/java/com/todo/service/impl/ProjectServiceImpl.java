@@ -1,31 +1,31 @@
 package com.todo.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.todo.dto.NotificationCreateDto;
 import com.todo.dto.ProjectAssignRequestDto;
 import com.todo.dto.ProjectCreateRequestDto;
 import com.todo.dto.ProjectDetailQueryDto;
 import com.todo.dto.ProjectListQueryDto;
 import com.todo.entity.Project;
 import com.todo.entity.ProjectUser;
-import com.todo.entity.User;
+import com.todo.event.ProjectAssignedEvent;
 import com.todo.mapper.ProjectMapper;
 import com.todo.mapper.ProjectUserMapper;
 import com.todo.mapper.TodoMapper;
-import com.todo.mapper.UserMapper;
-import com.todo.service.NotificationService;
 import com.todo.service.ProjectService;
+import com.todo.utils.ETags;
+import com.todo.utils.EntityVoConverter;
 import com.todo.vo.OperationResultVo;
 import com.todo.vo.ProjectDetailVo;
 import com.todo.vo.ProjectVo;
 import com.todo.vo.TodoVo;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -42,10 +42,7 @@ public class ProjectServiceImpl implements ProjectService {
     private TodoMapper todoMapper;
     
     @Autowired
-    private UserMapper userMapper;
-    
-    @Autowired
-    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
     
     @Override
     public ProjectVo createProject(ProjectCreateRequestDto projectCreateDto) {
@@ -83,6 +80,13 @@ public class ProjectServiceImpl implements ProjectService {
         }
     }
     
+    @Override
+    public String getProjectListETag(ProjectListQueryDto queryDto) {
+        // 项目、项目分配、用户名任一变化都会改变校验值；分配关系重建时自增ID变大
+        return ETags.of("project-list", queryDto.getUserId(), queryDto.getUserAuth(),
+                projectMapper.selectListFingerprint());
+    }
+    
     @Override
     @Transactional
     public OperationResultVo assignProject(ProjectAssignRequestDto assignDto) {
@@ -110,8 +114,9 @@ public class ProjectServiceImpl implements ProjectService {
                 projectUserMapper.insert(projectUser);
             }
             
-            // 发送项目分配通知给所有被分配的用户
-            sendProjectAssignmentNotifications(project, assignDto.getUserIds(), assignDto.getUserId());
+            // 事务提交后发送项目分配通知给所有被分配的用户
+            eventPublisher.publishEvent(new ProjectAssignedEvent(
+                    project, new ArrayList<>(assignDto.getUserIds()), assignDto.getUserId()));
         }
         
         // 返回操作结果
@@ -160,42 +165,6 @@ public class ProjectServiceImpl implements ProjectService {
      * 将Project实体转换为ProjectVo
      */
     private ProjectVo convertToProjectVo(Project project) {
-        ProjectVo projectVo = new ProjectVo();
-        BeanUtils.copyProperties(project, projectVo);
-        return projectVo;
-    }
-    
-    /**
-     * 发送项目分配通知
-     */
-    private void sendProjectAssignmentNotifications(Project project, List<Long> userIds, Long adminId) {
-        try {
-            // 获取管理员信息
-            User admin = userMapper.selectById(adminId);
-            String adminName = admin != null ? admin.getUsername() : "管理员";
-            
-            // 为每个被分配的用户发送个人通知
-            for (Long userId : userIds) {
-                User user = userMapper.selectById(userId);
-                if (user != null) {
-                    NotificationCreateDto notificationDto = new NotificationCreateDto();
-                    notificationDto.setTitle("项目分配通知");
-                    notificationDto.setContent(String.format("您已被分配到项目：%s。请及时查看项目详情并开始工作。", project.getProjectName()));
-                    notificationDto.setType("personal");
-                    notificationDto.setPriority("high");
-                    notificationDto.setReceiverId(userId);
-                    notificationDto.setProjectId(project.getId());
-                    notificationDto.setPushImmediately(true);
-                    
-                    // 发送通知
-                    notificationService.createPersonalNotification(notificationDto, adminId, adminName);
-                    
-                    log.info("已为用户 {} 发送项目分配通知，项目：{}", user.getUsername(), project.getProjectName());
-                }
-            }
-            
-        } catch (Exception e) {
-            log.error("发送项目分配通知失败：{}", e.getMessage(), e);
-        }
+        return EntityVoConverter.convertToProjectVo(project);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,372 @@
+package com.todo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.todo.cache.UserDirectory;
+import com.todo.dto.TodoRecurrenceCreateDto;
+import com.todo.dto.TodoRecurrenceQueryDto;
+import com.todo.entity.Todo;
+import com.todo.entity.TodoRecurrence;
+import com.todo.event.TodoChangedEvent;
+import com.todo.mapper.TodoMapper;
+import com.todo.mapper.TodoRecurrenceMapper;
+import com.todo.service.TodoRecurrenceService;
+import com.todo.vo.OperationResultVo;
+import com.todo.vo.TodoRecurrenceVo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 重复待办服务实现
+ * 生成的待办与手动创建的待办相同，但直接多行写入，不逐条调用 createTodo（不发送新待办通知）。
+ * (recurrence_id, occurrence_date) 唯一键加上规则行锁和 generated_until 水位保证重复执行、多节点执行都不会重复生成。
+ */
+@Slf4j
+@Service
+public class TodoRecurrenceServiceImpl implements TodoRecurrenceService {
+    
+    private static final List<String> FREQUENCIES = Arrays.asList(
+            TodoRecurrence.DAILY, TodoRecurrence.WEEKLY, TodoRecurrence.MONTHLY);
+    
+    /**
+     * 多行INSERT每批的行数
+     */
+    private static final int BATCH_INSERT_SIZE = 500;
+    
+    @Autowired
+    private TodoRecurrenceMapper todoRecurrenceMapper;
+    
+    @Autowired
+    private TodoMapper todoMapper;
+    
+    @Autowired
+    private UserDirectory userDirectory;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * 业务时钟，与生成任务的 cron 时区一致
+     */
+    @Autowired
+    private Clock clock;
+    
+    /**
+     * 预生成窗口（天），生成到 今天+该天数
+     */
+    @Value("${todo.recurrence.horizon-days:14}")
+    private long horizonDays;
+    
+    @Override
+    @Transactional
+    public TodoRecurrenceVo createRecurrence(TodoRecurrenceCreateDto createDto) {
+        // 权限验证：与创建待办一致，只有管理员可以创建
+        if (!"admin".equals(createDto.getUserAuth())) {
+            throw new RuntimeException("权限不足，只有管理员可以创建重复待办");
+        }
+        if (createDto.getTitle() == null || createDto.getTitle().trim().isEmpty()) {
+            throw new RuntimeException("待办事项标题不能为空");
+        }
+        if (createDto.getProjectId() == null) {
+            throw new RuntimeException("待办事项未指定项目");
+        }
+        if (!FREQUENCIES.contains(createDto.getFrequency())) {
+            throw new RuntimeException("重复频率必须为 daily、weekly 或 monthly");
+        }
+        int interval = createDto.getInterval() != null ? createDto.getInterval() : 1;
+        if (interval < 1) {
+            throw new RuntimeException("重复间隔必须大于0");
+        }
+        if (createDto.getAssigneeId() != null && userDirectory.get(createDto.getAssigneeId()) == null) {
+            throw new RuntimeException("分配的用户不存在");
+        }
+        
+        LocalDate startDate = createDto.getStartDate() != null ? createDto.getStartDate() : LocalDate.now(clock);
+        if (createDto.getEndDate() != null && createDto.getEndDate().isBefore(startDate)) {
+            throw new RuntimeException("结束日期不能早于开始日期");
+        }
+        // 与 setDefaultTimes 的默认时间一致
+        LocalTime startTime = createDto.getStartTimeOfDay() != null ? createDto.getStartTimeOfDay() : LocalTime.of(9, 0, 0);
+        LocalTime dueTime = createDto.getDueTimeOfDay() != null ? createDto.getDueTimeOfDay() : LocalTime.of(23, 59, 59);
+        if (dueTime.isBefore(startTime)) {
+            throw new RuntimeException("截止时刻不能早于开始时刻");
+        }
+        
+        TodoRecurrence recurrence = new TodoRecurrence();
+        recurrence.setTitle(createDto.getTitle());
+        recurrence.setDescription(createDto.getDescription());
+        recurrence.setPriority(createDto.getPriority() != null ? createDto.getPriority() : "medium");
+        recurrence.setProjectId(createDto.getProjectId());
+        recurrence.setAssigneeId(createDto.getAssigneeId());
+        recurrence.setCreatorId(createDto.getUserId());
+        recurrence.setFrequency(createDto.getFrequency());
+        recurrence.setIntervalValue(interval);
+        if (TodoRecurrence.WEEKLY.equals(createDto.getFrequency())) {
+            List<Integer> days = createDto.getDaysOfWeek();
+            if (days == null || days.isEmpty() || days.stream().anyMatch(day -> day == null || day < 1 || day > 7)) {
+                throw new RuntimeException("每周重复需要指定星期（1-7）");
+            }
+            recurrence.setDaysOfWeek(days.stream()
+                    .distinct()
+                    .sorted()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        }
+        if (TodoRecurrence.MONTHLY.equals(createDto.getFrequency())) {
+            int dayOfMonth = createDto.getDayOfMonth() != null ? createDto.getDayOfMonth() : startDate.getDayOfMonth();
+            if (dayOfMonth < 1 || dayOfMonth > 31) {
+                throw new RuntimeException("每月重复的日期必须在1到31之间");
+            }
+            recurrence.setDayOfMonth(dayOfMonth);
+        }
+        recurrence.setStartTimeOfDay(startTime);
+        recurrence.setDueTimeOfDay(dueTime);
+        recurrence.setStartDate(startDate);
+        recurrence.setEndDate(createDto.getEndDate());
+        recurrence.setGeneratedUntil(startDate.minusDays(1));
+        recurrence.setEnabled(true);
+        recurrence.setCreatedTime(LocalDateTime.now(clock));
+        recurrence.setUpdatedTime(LocalDateTime.now(clock));
+        todoRecurrenceMapper.insert(recurrence);
+        
+        // 立即生成预生成窗口内的待办，不等待下次生成任务
+        generate(Collections.singletonList(recurrence), LocalDate.now(clock).plusDays(horizonDays));
+        return convertToVo(recurrence);
+    }
+    
+    @Override
+    public List<TodoRecurrenceVo> getRecurrences(TodoRecurrenceQueryDto queryDto) {
+        if (!"admin".equals(queryDto.getUserAuth())) {
+            throw new RuntimeException("权限不足，只有管理员可以查看重复待办");
+        }
+        QueryWrapper<TodoRecurrence> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq(queryDto.getProjectId() != null, "project_id", queryDto.getProjectId())
+                    .orderByDesc("id");
+        return todoRecurrenceMapper.selectList(queryWrapper).stream()
+                .map(this::convertToVo)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public OperationResultVo disableRecurrence(TodoRecurrenceQueryDto queryDto) {
+        if (!"admin".equals(queryDto.getUserAuth())) {
+            throw new RuntimeException("权限不足，只有管理员可以停用重复待办");
+        }
+        if (queryDto.getRecurrenceId() == null) {
+            throw new RuntimeException("重复规则ID不能为空");
+        }
+        UpdateWrapper<TodoRecurrence> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.set("enabled", false)
+                     .set("updated_time", LocalDateTime.now(clock))
+                     .eq("id", queryDto.getRecurrenceId());
+        if (todoRecurrenceMapper.update(null, updateWrapper) == 0) {
+            throw new RuntimeException("重复规则不存在");
+        }
+        
+        OperationResultVo resultVo = new OperationResultVo();
+        resultVo.setSuccess(true);
+        resultVo.setMessage("重复规则已停用，已生成的待办保留");
+        resultVo.setData(queryDto.getRecurrenceId());
+        return resultVo;
+    }
+    
+    @Override
+    @Transactional
+    public Long generateBatch(Long afterId, LocalDate until, int batchSize) {
+        // 锁定本批规则，并发执行的节点或重叠的创建请求在此等待，之后按已推进的水位跳过
+        QueryWrapper<TodoRecurrence> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("enabled", true)
+                    .gt(afterId != null, "id", afterId)
+                    .lt("generated_until", until)
+                    .and(w -> w.isNull("end_date").or().apply("generated_until < end_date"))
+                    .orderByAsc("id")
+                    .last("LIMIT " + batchSize + " FOR UPDATE");
+        List<TodoRecurrence> recurrences = todoRecurrenceMapper.selectList(queryWrapper);
+        if (recurrences.isEmpty()) {
+            return null;
+        }
+        generate(recurrences, until);
+        return recurrences.get(recurrences.size() - 1).getId();
+    }
+    
+    /**
+     * 生成各规则从水位之后到 until（含）的待办，多行插入后推进水位
+     */
+    private void generate(List<TodoRecurrence> recurrences, LocalDate until) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        Map<Long, TodoRecurrence> recurrencesById = recurrences.stream()
+                .collect(Collectors.toMap(TodoRecurrence::getId, Function.identity()));
+        
+        // 计算每条规则待生成的日期
+        List<Todo> candidates = new ArrayList<>();
+        LocalDate minFrom = null;
+        for (TodoRecurrence recurrence : recurrences) {
+            LocalDate from = recurrence.getGeneratedUntil().plusDays(1);
+            if (from.isBefore(recurrence.getStartDate())) {
+                from = recurrence.getStartDate();
+            }
+            // 开始日期在过去时从今天开始生成，不补生成已经逾期的待办
+            if (from.isBefore(today)) {
+                from = today;
+            }
+            LocalDate to = recurrence.getEndDate() != null && recurrence.getEndDate().isBefore(until)
+                    ? recurrence.getEndDate() : until;
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (occursOn(recurrence, date)) {
+                    candidates.add(newOccurrence(recurrence, date, now));
+                }
+            }
+            if (minFrom == null || from.isBefore(minFrom)) {
+                minFrom = from;
+            }
+            recurrence.setGeneratedUntil(to.isAfter(recurrence.getGeneratedUntil()) ? to : recurrence.getGeneratedUntil());
+        }
+        
+        if (!candidates.isEmpty()) {
+            // 跳过已存在的日期（水位被手动回退等情况），唯一键兜底并发插入
+            QueryWrapper<Todo> existingWrapper = new QueryWrapper<>();
+            existingWrapper.select("recurrence_id", "occurrence_date")
+                           .in("recurrence_id", recurrencesById.keySet())
+                           .between("occurrence_date", minFrom, until);
+            Set<String> existing = new HashSet<>();
+            for (Todo todo : todoMapper.selectList(existingWrapper)) {
+                existing.add(occurrenceKey(todo));
+            }
+            List<Todo> todos = candidates.stream()
+                    .filter(todo -> !existing.contains(occurrenceKey(todo)))
+                    .collect(Collectors.toList());
+            
+            for (int from = 0; from < todos.size(); from += BATCH_INSERT_SIZE) {
+                todoMapper.insertOccurrences(todos.subList(from, Math.min(from + BATCH_INSERT_SIZE, todos.size())));
+            }
+            
+            if (!todos.isEmpty()) {
+                // 多行插入不回填ID，按唯一键取回本次插入的待办，发布变更事件（计数、今日视图、推送、历史）
+                Set<String> inserted = todos.stream().map(this::occurrenceKey).collect(Collectors.toSet());
+                QueryWrapper<Todo> insertedWrapper = new QueryWrapper<>();
+                insertedWrapper.in("recurrence_id", recurrencesById.keySet())
+                               .between("occurrence_date", minFrom, until);
+                for (Todo todo : todoMapper.selectList(insertedWrapper)) {
+                    if (inserted.contains(occurrenceKey(todo))) {
+                        eventPublisher.publishEvent(TodoChangedEvent.created(todo,
+                                recurrencesById.get(todo.getRecurrenceId()).getCreatorId()));
+                    }
+                }
+                log.info("重复规则生成待办 {} 项，规则 {} 条，生成至 {}", todos.size(), recurrences.size(), until);
+            }
+        }
+        
+        for (TodoRecurrence recurrence : recurrences) {
+            UpdateWrapper<TodoRecurrence> updateWrapper = new UpdateWrapper<>();
+            updateWrapper.set("generated_until", recurrence.getGeneratedUntil())
+                         .set("updated_time", now)
+                         .eq("id", recurrence.getId());
+            todoRecurrenceMapper.update(null, updateWrapper);
+        }
+    }
+    
+    /**
+     * 判断规则在某天是否有待办
+     */
+    boolean occursOn(TodoRecurrence recurrence, LocalDate date) {
+        LocalDate startDate = recurrence.getStartDate();
+        int interval = recurrence.getIntervalValue() != null ? recurrence.getIntervalValue() : 1;
+        switch (recurrence.getFrequency()) {
+            case TodoRecurrence.DAILY:
+                return ChronoUnit.DAYS.between(startDate, date) % interval == 0;
+            case TodoRecurrence.WEEKLY:
+                if (!parseDaysOfWeek(recurrence.getDaysOfWeek()).contains(date.getDayOfWeek().getValue())) {
+                    return false;
+                }
+                // 按自然周（周一开始）计算间隔
+                LocalDate startWeek = startDate.minusDays(startDate.getDayOfWeek().getValue() - 1);
+                LocalDate week = date.minusDays(date.getDayOfWeek().getValue() - 1);
+                return ChronoUnit.WEEKS.between(startWeek, week) % interval == 0;
+            case TodoRecurrence.MONTHLY:
+                int day = Math.min(recurrence.getDayOfMonth(), date.lengthOfMonth());
+                if (date.getDayOfMonth() != day) {
+                    return false;
+                }
+                long months = ChronoUnit.MONTHS.between(startDate.withDayOfMonth(1), date.withDayOfMonth(1));
+                return months % interval == 0;
+            default:
+                return false;
+        }
+    }
+    
+    private Todo newOccurrence(TodoRecurrence recurrence, LocalDate date, LocalDateTime now) {
+        Todo todo = new Todo();
+        todo.setTitle(recurrence.getTitle());
+        todo.setDescription(recurrence.getDescription());
+        todo.setStatus("pending");
+        todo.setPriority(recurrence.getPriority());
+        todo.setProjectId(recurrence.getProjectId());
+        todo.setAssigneeId(recurrence.getAssigneeId());
+        todo.setCreatorId(recurrence.getCreatorId());
+        todo.setStartTime(date.atTime(recurrence.getStartTimeOfDay()));
+        todo.setDueDate(date.atTime(recurrence.getDueTimeOfDay()));
+        todo.setVersion(0);
+        todo.setRecurrenceId(recurrence.getId());
+        todo.setOccurrenceDate(date);
+        todo.setCreatedTime(now);
+        todo.setUpdatedTime(now);
+        return todo;
+    }
+    
+    private String occurrenceKey(Todo todo) {
+        return todo.getRecurrenceId() + ":" + todo.getOccurrenceDate();
+    }
+    
+    private List<Integer> parseDaysOfWeek(String daysOfWeek) {
+        if (daysOfWeek == null || daysOfWeek.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(daysOfWeek.split(","))
+                .map(Integer::valueOf)
+                .collect(Collectors.toList());
+    }
+    
+    private TodoRecurrenceVo convertToVo(TodoRecurrence recurrence) {
+        TodoRecurrenceVo recurrenceVo = new TodoRecurrenceVo();
+        recurrenceVo.setId(recurrence.getId());
+        recurrenceVo.setTitle(recurrence.getTitle());
+        recurrenceVo.setDescription(recurrence.getDescription());
+        recurrenceVo.setPriority(recurrence.getPriority());
+        recurrenceVo.setProjectId(recurrence.getProjectId());
+        recurrenceVo.setAssigneeId(recurrence.getAssigneeId());
+        recurrenceVo.setCreatorId(recurrence.getCreatorId());
+        recurrenceVo.setFrequency(recurrence.getFrequency());
+        recurrenceVo.setInterval(recurrence.getIntervalValue());
+        recurrenceVo.setDaysOfWeek(TodoRecurrence.WEEKLY.equals(recurrence.getFrequency())
+                ? parseDaysOfWeek(recurrence.getDaysOfWeek()) : null);
+        recurrenceVo.setDayOfMonth(recurrence.getDayOfMonth());
+        recurrenceVo.setStartTimeOfDay(recurrence.getStartTimeOfDay());
+        recurrenceVo.setDueTimeOfDay(recurrence.getDueTimeOfDay());
+        recurrenceVo.setStartDate(recurrence.getStartDate());
+        recurrenceVo.setEndDate(recurrence.getEndDate());
+        recurrenceVo.setGeneratedUntil(recurrence.getGeneratedUntil());
+        recurrenceVo.setEnabled(recurrence.getEnabled());
+        recurrenceVo.setCreatedTime(recurrence.getCreatedTime());
+        return recurrenceVo;
+    }
+}
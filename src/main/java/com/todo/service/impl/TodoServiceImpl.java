@@ -1,30 +1,82 @@
 package com.todo.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.todo.common.VersionConflictException;
+import com.todo.dto.TodoBatchCreateDto;
+import com.todo.dto.TodoBulkUpdateDto;
+import com.todo.dto.TodoCalendarQueryDto;
+import com.todo.dto.TodoChangesQueryDto;
 import com.todo.dto.TodoCreateDto;
 import com.todo.dto.TodoUpdateDto;
 import com.todo.dto.TodoQueryDto;
+import com.todo.dto.TodoSearchDto;
+import com.todo.dto.TodoStatsQueryDto;
 import com.todo.dto.TodoDeleteDto;
+import com.todo.dto.TodoHistoryQueryDto;
 import com.todo.dto.TodoStatusUpdateDto;
 import com.todo.dto.AdminTodoUpdateDto;
-import com.todo.dto.NotificationCreateDto;
+import com.todo.cache.TodayTodoView;
+import com.todo.cache.TodoDetailCache;
+import com.todo.cache.UserDirectory;
+import com.todo.cache.UserSummary;
 import com.todo.entity.Todo;
-import com.todo.entity.User;
-import com.todo.entity.Project;
+import com.todo.entity.ProjectUser;
+import com.todo.entity.TodoCounter;
+import com.todo.entity.TodoHistory;
+import com.todo.entity.TodoTombstone;
+import com.todo.event.TodoAdminUpdatedEvent;
+import com.todo.event.TodoChangedEvent;
+import com.todo.event.TodoCreatedEvent;
+import com.todo.event.TodoStatusChangedEvent;
+import com.todo.event.TodosArchivedEvent;
+import com.todo.event.TodosBatchCreatedEvent;
+import com.todo.event.TodosBulkUpdatedEvent;
+import com.todo.mapper.ProjectUserMapper;
+import com.todo.mapper.TodoCounterMapper;
+import com.todo.mapper.TodoHistoryMapper;
 import com.todo.mapper.TodoMapper;
-import com.todo.mapper.UserMapper;
-import com.todo.mapper.ProjectMapper;
+import com.todo.mapper.TodoScopeVersionMapper;
+import com.todo.mapper.TodoTombstoneMapper;
 import com.todo.service.TodoService;
-import com.todo.service.NotificationService;
+import com.todo.utils.EntityVoConverter;
+import com.todo.utils.TodoChangeWatermark;
+import com.todo.utils.TodoCursor;
+import com.todo.utils.ETags;
+import com.todo.vo.CacheStatsVo;
+import com.todo.vo.TodoCalendarDayVo;
+import com.todo.vo.TodoChangesVo;
+import com.todo.vo.TodoHistoryPageVo;
+import com.todo.vo.TodoHistoryVo;
+import com.todo.vo.TodoStatusCountVo;
+import com.todo.vo.TodoPageVo;
+import com.todo.vo.TodoStatsVo;
 import com.todo.vo.TodoVo;
 import com.todo.vo.OperationResultVo;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * 待办事项服务实现类
@@ -33,19 +85,123 @@ import java.util.List;
 @Service
 public class TodoServiceImpl implements TodoService {
     
+    /**
+     * 游标分页默认每页条数
+     */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    
+    /**
+     * 游标分页最大每页条数
+     */
+    private static final int MAX_PAGE_SIZE = 500;
+    
+    /**
+     * 单次批量创建的最大条数
+     */
+    private static final int MAX_BATCH_CREATE_SIZE = 1000;
+    
+    /**
+     * 增量同步默认每次返回条数
+     */
+    private static final int DEFAULT_CHANGES_LIMIT = 200;
+    
+    /**
+     * 增量同步每次最多返回条数
+     */
+    private static final int MAX_CHANGES_LIMIT = 1000;
+    
+    /**
+     * 已完成状态，只有已完成的待办会被归档
+     */
+    private static final String STATUS_COMPLETED = "completed";
+    
+    /**
+     * 列表排序（与 start_time, created_time, id 升序一致，空值在前）
+     */
+    private static final Comparator<Todo> LIST_ORDER = Comparator
+            .comparing(Todo::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Todo::getCreatedTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Todo::getId);
+    
+    /**
+     * 搜索默认返回条数
+     */
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    
+    /**
+     * 搜索最多返回条数
+     */
+    private static final int MAX_SEARCH_LIMIT = 100;
+    
+    /**
+     * 搜索关键字最小长度，与全文索引的ngram分词长度一致
+     */
+    private static final int MIN_SEARCH_KEYWORD_LENGTH = 2;
+    
+    /**
+     * 日历统计最大日期跨度（天）
+     */
+    private static final int MAX_CALENDAR_DAYS = 62;
+    
+    /**
+     * 单次批量修改的最大条数
+     */
+    private static final int MAX_BULK_UPDATE_SIZE = 1000;
+    
+    /**
+     * 多行INSERT每条语句的行数
+     */
+    private static final int BATCH_INSERT_SIZE = 500;
+    
+    /**
+     * 乐观锁校验失败提示
+     */
+    private static final String VERSION_CONFLICT_MESSAGE = "待办事项已被他人修改，请刷新后重试";
+    
     @Autowired
     private TodoMapper todoMapper;
     
     @Autowired
-    private UserMapper userMapper;
+    private UserDirectory userDirectory;
     
     @Autowired
-    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    private ProjectMapper projectMapper;
+    private TodoDetailCache todoDetailCache;
+    
+    @Autowired
+    private TodoTombstoneMapper todoTombstoneMapper;
+    
+    @Autowired
+    private TodoCounterMapper todoCounterMapper;
+    
+    @Autowired
+    private TodoScopeVersionMapper todoScopeVersionMapper;
+    
+    @Autowired
+    private TodoHistoryMapper todoHistoryMapper;
+    
+    @Autowired
+    private TodayTodoView todayTodoView;
+    
+    /**
+     * 业务时钟，计算"今天"时与今日视图一致
+     */
+    @Autowired
+    private Clock clock;
+    
+    @Autowired
+    private ProjectUserMapper projectUserMapper;
+    
+    /**
+     * 增量同步只返回修改时间早于当前时间该秒数的数据，等待并发事务提交，避免水位越过尚未提交的修改
+     */
+    @Value("${todo.sync.settle-seconds:2}")
+    private long syncSettleSeconds;
     
     @Override
+    @Transactional
     public TodoVo createTodo(TodoCreateDto todoCreateDto) {
         // 权限验证：检查是否有权限创建待办事项
         if (!"admin".equals(todoCreateDto.getUserAuth())) {
@@ -56,6 +212,7 @@ public class TodoServiceImpl implements TodoService {
         BeanUtils.copyProperties(todoCreateDto, todo);
         todo.setCreatorId(todoCreateDto.getUserId());
         todo.setStatus("pending"); // 默认状态为待处理
+        todo.setVersion(0);
         
         // 设置默认开始时间和截止时间
         setDefaultTimes(todo, todoCreateDto);
@@ -69,20 +226,84 @@ public class TodoServiceImpl implements TodoService {
             throw new RuntimeException("待办事项创建失败");
         }
         
-        // 发送待办创建通知
-        sendTodoCreationNotification(todo, todoCreateDto.getUserId());
+        // 事务提交后发送待办创建通知并推送数据变更
+        eventPublisher.publishEvent(new TodoCreatedEvent(todo, todoCreateDto.getUserId()));
+        eventPublisher.publishEvent(TodoChangedEvent.created(todo, todoCreateDto.getUserId()));
         
         // 转换为VO对象
         return convertToTodoVo(todo);
     }
     
     @Override
+    @Transactional
+    public List<Long> batchCreateTodos(TodoBatchCreateDto batchCreateDto) {
+        // 权限验证：检查是否有权限创建待办事项
+        if (!"admin".equals(batchCreateDto.getUserAuth())) {
+            throw new RuntimeException("权限不足，只有管理员可以创建待办事项");
+        }
+        
+        List<TodoCreateDto> items = batchCreateDto.getTodos();
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("待办事项列表不能为空");
+        }
+        if (items.size() > MAX_BATCH_CREATE_SIZE) {
+            throw new RuntimeException("单次最多批量创建" + MAX_BATCH_CREATE_SIZE + "条待办事项");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Todo> todos = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            TodoCreateDto item = items.get(i);
+            if (item.getTitle() == null || item.getTitle().trim().isEmpty()) {
+                throw new RuntimeException("第" + (i + 1) + "条待办事项标题不能为空");
+            }
+            if (item.getProjectId() == null) {
+                throw new RuntimeException("第" + (i + 1) + "条待办事项未指定项目");
+            }
+            
+            Todo todo = new Todo();
+            todo.setTitle(item.getTitle());
+            todo.setDescription(item.getDescription());
+            todo.setPriority(item.getPriority() != null ? item.getPriority() : "medium");
+            todo.setProjectId(item.getProjectId());
+            todo.setAssigneeId(item.getAssigneeId());
+            todo.setCreatorId(batchCreateDto.getUserId());
+            todo.setStatus("pending"); // 默认状态为待处理
+            todo.setVersion(0);
+            setDefaultTimes(todo, item);
+            todo.setCreatedTime(now);
+            todo.setUpdatedTime(now);
+            todos.add(todo);
+        }
+        
+        // 分段多行INSERT，每段一条语句
+        for (int from = 0; from < todos.size(); from += BATCH_INSERT_SIZE) {
+            List<Todo> chunk = todos.subList(from, Math.min(from + BATCH_INSERT_SIZE, todos.size()));
+            if (todoMapper.insertBatch(chunk) != chunk.size()) {
+                throw new RuntimeException("待办事项批量创建失败");
+            }
+        }
+        
+        // 事务提交后按分配人、项目合并发送通知，并逐条推送数据变更
+        eventPublisher.publishEvent(new TodosBatchCreatedEvent(todos, batchCreateDto.getUserId()));
+        for (Todo todo : todos) {
+            eventPublisher.publishEvent(TodoChangedEvent.created(todo, batchCreateDto.getUserId()));
+        }
+        
+        return todos.stream()
+                   .map(Todo::getId)
+                   .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional
     public TodoVo updateTodo(TodoUpdateDto todoUpdateDto) {
         // 权限验证：检查是否有权限更新待办事项
         if (!"admin".equals(todoUpdateDto.getUserAuth())) {
             throw new RuntimeException("权限不足，只有管理员可以更新待办事项");
         }
         
+        // 读取修改前的数据，用于组装返回结果
         Todo existingTodo = todoMapper.selectById(todoUpdateDto.getId());
         if (existingTodo == null) {
             throw new RuntimeException("待办事项不存在");
@@ -90,82 +311,533 @@ public class TodoServiceImpl implements TodoService {
         
         Todo todo = new Todo();
         BeanUtils.copyProperties(todoUpdateDto, todo);
-        todo.setUpdatedTime(LocalDateTime.now());
+        todo.setVersion(expectedVersion(todoUpdateDto.getVersion(), existingTodo));
+        LocalDateTime now = LocalDateTime.now();
+        todo.setUpdatedTime(now);
+        boolean resetOverdue = isOverdueReset(existingTodo, todo.getDueDate(), now);
         
-        int result = todoMapper.updateById(todo);
+        // 按ID和版本号更新非空字段，读取后被他人修改或删除时影响行数为0
+        int result = updateById(todo, resetOverdue);
         
         if (result <= 0) {
-            throw new RuntimeException("待办事项更新失败");
+            throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
         }
+        recordReassignment(existingTodo, todo.getAssigneeId());
         
-        // 重新查询并转换为VO对象
-        Todo updatedTodo = todoMapper.selectById(todo.getId());
+        // 以修改前数据合并本次修改作为返回结果，不再重新查询
+        Todo updatedTodo = mergeChanges(existingTodo, todo);
+        if (resetOverdue) {
+            updatedTodo.setOverdueAt(null);
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.updated(existingTodo, updatedTodo, todoUpdateDto.getUserId()));
         return convertToTodoVo(updatedTodo);
     }
     
     @Override
+    @Transactional
     public OperationResultVo deleteTodo(TodoDeleteDto todoDeleteDto) {
         // 权限验证：检查是否有权限删除待办事项
         if (!"admin".equals(todoDeleteDto.getUserAuth())) {
             throw new RuntimeException("权限不足，只有管理员可以删除待办事项");
         }
         
+        // 读取删除前的数据，用于记录墓碑和推送变更
         Todo existingTodo = todoMapper.selectById(todoDeleteDto.getTodoId());
         if (existingTodo == null) {
             throw new RuntimeException("待办事项不存在");
         }
-        
         int result = todoMapper.deleteById(todoDeleteDto.getTodoId());
+        if (result <= 0) {
+            throw new RuntimeException("待办事项不存在");
+        }
+        // 记录墓碑供增量同步使用
+        todoTombstoneMapper.insert(TodoTombstone.deleted(existingTodo));
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(existingTodo, todoDeleteDto.getUserId()));
         
         OperationResultVo resultVo = new OperationResultVo();
-        if (result > 0) {
-            resultVo.setSuccess(true);
-            resultVo.setMessage("待办事项删除成功");
-            resultVo.setData(todoDeleteDto.getTodoId());
-        } else {
-            resultVo.setSuccess(false);
-            resultVo.setMessage("待办事项删除失败");
-        }
+        resultVo.setSuccess(true);
+        resultVo.setMessage("待办事项删除成功");
+        resultVo.setData(todoDeleteDto.getTodoId());
         
         return resultVo;
     }
     
     @Override
     public List<TodoVo> getTodoList(TodoQueryDto queryDto) {
+        // 默认查询（今天、无其他过滤条件）由今日视图提供，不访问数据库
+        if (isDefaultTodayQuery(queryDto)) {
+            Long assigneeId = "admin".equals(queryDto.getUserAuth()) ? null : queryDto.getUserId();
+            return todayTodoView.get(assigneeId, () -> selectTodoList(queryDto));
+        }
+        return selectTodoList(queryDto);
+    }
+    
+    private List<TodoVo> selectTodoList(TodoQueryDto queryDto) {
+        QueryWrapper<Todo> queryWrapper = buildListQueryWrapper(queryDto);
+        
+        // 按开始时间排序
+        queryWrapper.orderByAsc("start_time", "created_time", "id");
+        
+        List<Todo> todos = todoMapper.selectList(queryWrapper);
+        
+        // 明确要求时才查询归档表，与活跃表结果按列表顺序合并
+        if (Boolean.TRUE.equals(queryDto.getIncludeArchived())) {
+            todos = new ArrayList<>(todos);
+            todos.addAll(todoMapper.selectArchivedList(queryWrapper));
+            todos.sort(LIST_ORDER);
+        }
+        return todos.stream()
+                   .map(this::convertToTodoVo)
+                   .collect(Collectors.toList());
+    }
+    
+    /**
+     * 是否为今日视图可直接提供的默认查询
+     */
+    private boolean isDefaultTodayQuery(TodoQueryDto queryDto) {
+        boolean today = queryDto.getQueryDate() == null || queryDto.getQueryDate().equals(LocalDate.now(clock));
+        boolean hasScope = "admin".equals(queryDto.getUserAuth()) || queryDto.getUserId() != null;
+        return today && hasScope
+                && !Boolean.TRUE.equals(queryDto.getIncludeHistory())
+                && !Boolean.TRUE.equals(queryDto.getIncludeArchived())
+                && queryDto.getProjectId() == null
+                && queryDto.getAssigneeId() == null
+                && queryDto.getStatus() == null;
+    }
+    
+    @Override
+    public String getTodoListETag(TodoQueryDto queryDto) {
+        // 今日视图已加载时以视图版本作为校验值，不访问数据库
+        if (isDefaultTodayQuery(queryDto)) {
+            Long assigneeId = "admin".equals(queryDto.getUserAuth()) ? null : queryDto.getUserId();
+            String viewVersion = todayTodoView.getVersion(assigneeId);
+            if (viewVersion != null) {
+                return ETags.of("todo-today", queryDto.getUserId(), queryDto.getUserAuth(),
+                        LocalDate.now(clock), viewVersion);
+            }
+        }
+        
+        // 范围版本在写入和归档的事务内递增，覆盖新增、修改、删除和归档，无需扫描列表数据
+        return ETags.of("todo-list", queryDto.getUserId(), queryDto.getUserAuth(), queryDto.getProjectId(),
+                queryDto.getAssigneeId(), queryDto.getStatus(), queryDto.getIncludeHistory(),
+                queryDto.getIncludeArchived(),
+                queryDto.getQueryDate() != null ? queryDto.getQueryDate() : LocalDate.now(clock),
+                currentScopeVersion(queryDto));
+    }
+    
+    /**
+     * 列表查询范围的变更版本：按分配人或项目取单行版本，管理员查看全部时取所有项目版本之和
+     */
+    private long currentScopeVersion(TodoQueryDto queryDto) {
+        if (!"admin".equals(queryDto.getUserAuth())) {
+            return todoScopeVersionMapper.selectVersion(TodoCounter.SCOPE_ASSIGNEE, queryDto.getUserId());
+        }
+        if (queryDto.getAssigneeId() != null) {
+            return todoScopeVersionMapper.selectVersion(TodoCounter.SCOPE_ASSIGNEE, queryDto.getAssigneeId());
+        }
+        if (queryDto.getProjectId() != null) {
+            return todoScopeVersionMapper.selectVersion(TodoCounter.SCOPE_PROJECT, queryDto.getProjectId());
+        }
+        return todoScopeVersionMapper.sumVersions(TodoCounter.SCOPE_PROJECT);
+    }
+    
+    @Override
+    public TodoPageVo getTodoPage(TodoQueryDto queryDto) {
+        int pageSize = queryDto.getPageSize() != null ? queryDto.getPageSize() : DEFAULT_PAGE_SIZE;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new RuntimeException("每页条数必须在1到" + MAX_PAGE_SIZE + "之间");
+        }
+        TodoCursor cursor = TodoCursor.decode(queryDto.getCursor());
+        
+        // 多取一条用于判断是否还有下一页
+        List<Todo> todos = todoMapper.selectTodoPage(buildListQueryWrapper(queryDto), cursor, pageSize + 1);
+        boolean hasMore = todos.size() > pageSize;
+        if (hasMore) {
+            todos = todos.subList(0, pageSize);
+        }
+        
+        TodoPageVo pageVo = new TodoPageVo();
+        pageVo.setRecords(todos.stream()
+                              .map(this::convertToTodoVo)
+                              .collect(Collectors.toList()));
+        pageVo.setHasMore(hasMore);
+        if (hasMore) {
+            pageVo.setNextCursor(TodoCursor.of(todos.get(todos.size() - 1)).encode());
+        }
+        return pageVo;
+    }
+    
+    @Override
+    public TodoHistoryPageVo getTodoHistory(TodoHistoryQueryDto historyQueryDto) {
+        if (historyQueryDto.getTodoId() == null) {
+            throw new RuntimeException("待办事项ID不能为空");
+        }
+        int pageSize = historyQueryDto.getPageSize() != null ? historyQueryDto.getPageSize() : DEFAULT_PAGE_SIZE;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new RuntimeException("每页条数必须在1到" + MAX_PAGE_SIZE + "之间");
+        }
+        Long beforeId = null;
+        if (historyQueryDto.getCursor() != null && !historyQueryDto.getCursor().trim().isEmpty()) {
+            try {
+                beforeId = Long.valueOf(historyQueryDto.getCursor().trim());
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("分页游标无效");
+            }
+        }
+        
+        // 普通用户只能查看分配给自己的待办的历史（含已归档），管理员可查看已删除待办的历史
+        if (!"admin".equals(historyQueryDto.getUserAuth())) {
+            TodoQueryDto detailQuery = new TodoQueryDto();
+            detailQuery.setTodoId(historyQueryDto.getTodoId());
+            detailQuery.setUserId(historyQueryDto.getUserId());
+            detailQuery.setUserAuth(historyQueryDto.getUserAuth());
+            detailQuery.setIncludeArchived(true);
+            getTodoDetail(detailQuery);
+        }
+        
+        // 多取一条用于判断是否还有下一页
+        QueryWrapper<TodoHistory> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("todo_id", historyQueryDto.getTodoId())
+                    .lt(beforeId != null, "id", beforeId)
+                    .orderByDesc("id")
+                    .last("LIMIT " + (pageSize + 1));
+        List<TodoHistory> histories = todoHistoryMapper.selectList(queryWrapper);
+        boolean hasMore = histories.size() > pageSize;
+        if (hasMore) {
+            histories = histories.subList(0, pageSize);
+        }
+        
+        Map<Long, UserSummary> operators = userDirectory.getAll(histories.stream()
+                .map(TodoHistory::getOperatorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<TodoHistoryVo> records = new ArrayList<>(histories.size());
+        for (TodoHistory history : histories) {
+            TodoHistoryVo historyVo = EntityVoConverter.convertToTodoHistoryVo(history);
+            UserSummary operator = operators.get(history.getOperatorId());
+            historyVo.setOperatorName(operator != null ? operator.getUsername() : null);
+            records.add(historyVo);
+        }
+        
+        TodoHistoryPageVo pageVo = new TodoHistoryPageVo();
+        pageVo.setRecords(records);
+        pageVo.setHasMore(hasMore);
+        if (hasMore) {
+            pageVo.setNextCursor(String.valueOf(histories.get(histories.size() - 1).getId()));
+        }
+        return pageVo;
+    }
+    
+    @Override
+    public List<TodoStatsVo> getTodoStats(TodoStatsQueryDto statsQueryDto) {
+        boolean isAdmin = "admin".equals(statsQueryDto.getUserAuth());
+        List<TodoStatsVo> stats = new ArrayList<>();
+        
+        if (statsQueryDto.getProjectId() != null) {
+            // 普通用户只能查看分配给自己的项目
+            if (!isAdmin) {
+                QueryWrapper<ProjectUser> memberWrapper = new QueryWrapper<>();
+                memberWrapper.eq("project_id", statsQueryDto.getProjectId())
+                             .eq("user_id", statsQueryDto.getUserId());
+                if (projectUserMapper.selectCount(memberWrapper) == 0) {
+                    throw new RuntimeException("权限不足，您无法查看此项目的统计");
+                }
+            }
+            stats.add(toStatsVo(TodoCounter.SCOPE_PROJECT, statsQueryDto.getProjectId(),
+                    todoCounterMapper.selectByScope(TodoCounter.SCOPE_PROJECT, statsQueryDto.getProjectId())));
+        }
+        
+        Long assigneeId = statsQueryDto.getAssigneeId();
+        if (!isAdmin) {
+            if (assigneeId != null && !assigneeId.equals(statsQueryDto.getUserId())) {
+                throw new RuntimeException("权限不足，您只能查看自己的统计");
+            }
+            if (statsQueryDto.getProjectId() == null) {
+                assigneeId = statsQueryDto.getUserId();
+            }
+        }
+        if (assigneeId != null) {
+            stats.add(toStatsVo(TodoCounter.SCOPE_ASSIGNEE, assigneeId,
+                    todoCounterMapper.selectByScope(TodoCounter.SCOPE_ASSIGNEE, assigneeId)));
+        }
+        
+        // 管理员未指定范围时返回全部项目和用户的统计
+        if (isAdmin && statsQueryDto.getProjectId() == null && assigneeId == null) {
+            stats.addAll(toStatsVoList(TodoCounter.SCOPE_PROJECT,
+                    todoCounterMapper.selectByScopeType(TodoCounter.SCOPE_PROJECT)));
+            stats.addAll(toStatsVoList(TodoCounter.SCOPE_ASSIGNEE,
+                    todoCounterMapper.selectByScopeType(TodoCounter.SCOPE_ASSIGNEE)));
+        }
+        return stats;
+    }
+    
+    /**
+     * 将同一范围的各状态计数行合并为统计VO
+     */
+    private TodoStatsVo toStatsVo(String scopeType, Long scopeId, List<TodoCounter> counters) {
+        TodoStatsVo statsVo = new TodoStatsVo();
+        statsVo.setScopeType(scopeType);
+        statsVo.setScopeId(scopeId);
+        for (TodoCounter counter : counters) {
+            long count = counter.getTodoCount();
+            switch (counter.getStatus()) {
+                case "pending":
+                    statsVo.setPending(count);
+                    break;
+                case "in_progress":
+                    statsVo.setInProgress(count);
+                    break;
+                case "completed":
+                    statsVo.setCompleted(count);
+                    break;
+                case TodoCounter.STATUS_OVERDUE:
+                    // 逾期数量与各状态数量重叠，不计入合计
+                    statsVo.setOverdue(count);
+                    continue;
+                default:
+                    break;
+            }
+            statsVo.setTotal(statsVo.getTotal() + count);
+        }
+        return statsVo;
+    }
+    
+    /**
+     * 将某类范围的全部计数行按范围ID分组转换
+     */
+    private List<TodoStatsVo> toStatsVoList(String scopeType, List<TodoCounter> counters) {
+        Map<Long, List<TodoCounter>> countersByScope = counters.stream()
+                .collect(Collectors.groupingBy(TodoCounter::getScopeId,
+                        LinkedHashMap::new, Collectors.toList()));
+        List<TodoStatsVo> stats = new ArrayList<>();
+        for (Map.Entry<Long, List<TodoCounter>> entry : countersByScope.entrySet()) {
+            stats.add(toStatsVo(scopeType, entry.getKey(), entry.getValue()));
+        }
+        return stats;
+    }
+    
+    @Override
+    public List<CacheStatsVo> getCacheStats(TodoQueryDto queryDto) {
+        if (!"admin".equals(queryDto.getUserAuth())) {
+            throw new RuntimeException("权限不足，只有管理员可以查看缓存统计");
+        }
+        List<CacheStatsVo> stats = new ArrayList<>();
+        stats.add(todoDetailCache.stats());
+        stats.add(userDirectory.stats());
+        stats.add(todayTodoView.stats());
+        return stats;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTodoList(TodoQueryDto queryDto, Consumer<TodoVo> consumer) {
+        QueryWrapper<Todo> queryWrapper = buildListQueryWrapper(queryDto);
+        queryWrapper.orderByAsc("start_time", "created_time", "id");
+        
+        // Cursor依赖当前事务中的数据库连接，逐行转换后立即交出，不保留整页数据
+        try (Cursor<Todo> cursor = todoMapper.streamTodoList(queryWrapper)) {
+            for (Todo todo : cursor) {
+                consumer.accept(convertToTodoVo(todo));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("读取待办事项失败", e);
+        }
+    }
+    
+    @Override
+    public TodoChangesVo getTodoChanges(TodoChangesQueryDto changesQueryDto) {
+        int limit = changesQueryDto.getLimit() != null ? changesQueryDto.getLimit() : DEFAULT_CHANGES_LIMIT;
+        if (limit <= 0 || limit > MAX_CHANGES_LIMIT) {
+            throw new RuntimeException("每次同步条数必须在1到" + MAX_CHANGES_LIMIT + "之间");
+        }
+        boolean isAdmin = "admin".equals(changesQueryDto.getUserAuth());
+        LocalDateTime settledUntil = LocalDateTime.now().minusSeconds(syncSettleSeconds);
+        TodoChangeWatermark since = TodoChangeWatermark.decode(changesQueryDto.getSince());
+        boolean initialSync = since == null;
+        if (initialSync) {
+            // 首次同步返回全部可见待办，墓碑从当前最大ID开始，之前的删除无需下发
+            since = new TodoChangeWatermark();
+            since.setTodoId(0L);
+            since.setTombstoneId(currentMaxTombstoneId());
+        }
+        
+        // 水位之后新增或修改的待办，按 (updated_time, id) 顺序读取
+        QueryWrapper<Todo> queryWrapper = buildScopeQueryWrapper(changesQueryDto.getUserId(),
+                changesQueryDto.getUserAuth(), changesQueryDto.getProjectId(), null, null);
+        LocalDateTime sinceTime = since.getUpdatedTime();
+        Long sinceTodoId = since.getTodoId();
+        if (sinceTime != null) {
+            queryWrapper.and(wrapper -> wrapper.gt("updated_time", sinceTime)
+                    .or(w -> w.eq("updated_time", sinceTime).gt("id", sinceTodoId)));
+        }
+        queryWrapper.le("updated_time", settledUntil);
+        queryWrapper.orderByAsc("updated_time", "id");
+        queryWrapper.last("LIMIT " + (limit + 1));
+        List<Todo> todos = todoMapper.selectList(queryWrapper);
+        boolean hasMoreTodos = todos.size() > limit;
+        if (hasMoreTodos) {
+            todos = todos.subList(0, limit);
+        }
+        
+        // 水位之后的墓碑：普通用户包括被重新分配走的待办，管理员只关心删除
+        List<TodoTombstone> tombstones = Collections.emptyList();
+        boolean hasMoreTombstones = false;
+        if (!initialSync) {
+            QueryWrapper<TodoTombstone> tombstoneWrapper = new QueryWrapper<>();
+            tombstoneWrapper.gt("id", since.getTombstoneId());
+            if (isAdmin) {
+                tombstoneWrapper.eq("reason", TodoTombstone.REASON_DELETED);
+            } else {
+                tombstoneWrapper.eq("assignee_id", changesQueryDto.getUserId());
+            }
+            tombstoneWrapper.eq(changesQueryDto.getProjectId() != null, "project_id", changesQueryDto.getProjectId());
+            tombstoneWrapper.le("created_time", settledUntil);
+            tombstoneWrapper.orderByAsc("id");
+            tombstoneWrapper.last("LIMIT " + (limit + 1));
+            tombstones = todoTombstoneMapper.selectList(tombstoneWrapper);
+            hasMoreTombstones = tombstones.size() > limit;
+            if (hasMoreTombstones) {
+                tombstones = tombstones.subList(0, limit);
+            }
+        }
+        
+        TodoChangeWatermark next = since;
+        if (!todos.isEmpty()) {
+            next = next.advanceTo(todos.get(todos.size() - 1));
+        }
+        if (!tombstones.isEmpty()) {
+            next = next.advanceTo(tombstones.get(tombstones.size() - 1).getId());
+        }
+        
+        // 重新分配走又分配回来的待办仍可见，不作为移除返回
+        Set<Long> changedIds = todos.stream()
+                .map(Todo::getId)
+                .collect(Collectors.toSet());
+        
+        TodoChangesVo changesVo = new TodoChangesVo();
+        changesVo.setChanged(todos.stream()
+                                  .map(this::convertToTodoVo)
+                                  .collect(Collectors.toList()));
+        changesVo.setRemovedIds(tombstones.stream()
+                                          .map(TodoTombstone::getTodoId)
+                                          .filter(todoId -> !changedIds.contains(todoId))
+                                          .distinct()
+                                          .collect(Collectors.toList()));
+        changesVo.setNextSince(next.encode());
+        changesVo.setHasMore(hasMoreTodos || hasMoreTombstones);
+        return changesVo;
+    }
+    
+    /**
+     * 获取当前最大墓碑ID，没有墓碑时为0
+     */
+    private Long currentMaxTombstoneId() {
+        QueryWrapper<TodoTombstone> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id").orderByDesc("id").last("LIMIT 1");
+        TodoTombstone latest = todoTombstoneMapper.selectOne(queryWrapper);
+        return latest != null ? latest.getId() : 0L;
+    }
+    
+    @Override
+    public List<TodoVo> searchTodos(TodoSearchDto searchDto) {
+        String keyword = searchDto.getKeyword() != null ? searchDto.getKeyword().trim() : "";
+        if (keyword.length() < MIN_SEARCH_KEYWORD_LENGTH) {
+            throw new RuntimeException("搜索关键字至少需要" + MIN_SEARCH_KEYWORD_LENGTH + "个字符");
+        }
+        int limit = searchDto.getLimit() != null ? searchDto.getLimit() : DEFAULT_SEARCH_LIMIT;
+        if (limit <= 0 || limit > MAX_SEARCH_LIMIT) {
+            throw new RuntimeException("返回条数必须在1到" + MAX_SEARCH_LIMIT + "之间");
+        }
+        
+        QueryWrapper<Todo> queryWrapper = buildScopeQueryWrapper(searchDto.getUserId(), searchDto.getUserAuth(),
+                searchDto.getProjectId(), null, searchDto.getStatus());
+        List<Todo> todos = todoMapper.searchTodos(queryWrapper, keyword, limit);
+        return todos.stream()
+                   .map(this::convertToTodoVo)
+                   .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<TodoCalendarDayVo> getTodoCalendar(TodoCalendarQueryDto calendarQueryDto) {
+        LocalDate startDate = calendarQueryDto.getStartDate();
+        LocalDate endDate = calendarQueryDto.getEndDate();
+        if (startDate == null || endDate == null) {
+            throw new RuntimeException("开始日期和结束日期不能为空");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("结束日期不能早于开始日期");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_CALENDAR_DAYS) {
+            throw new RuntimeException("日期跨度不能超过" + MAX_CALENDAR_DAYS + "天");
+        }
+        
+        QueryWrapper<Todo> queryWrapper = buildScopeQueryWrapper(calendarQueryDto.getUserId(),
+                calendarQueryDto.getUserAuth(), calendarQueryDto.getProjectId(),
+                calendarQueryDto.getAssigneeId(), calendarQueryDto.getStatus());
+        List<TodoStatusCountVo> counts = todoMapper.countByDayAndStatus(queryWrapper, startDate, endDate);
+        
+        // 范围内每天都返回一条，没有待办的日期数量为0
+        Map<LocalDate, TodoCalendarDayVo> days = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            TodoCalendarDayVo dayVo = new TodoCalendarDayVo();
+            dayVo.setDate(date);
+            dayVo.setTotal(0L);
+            dayVo.setStatusCounts(new LinkedHashMap<>());
+            days.put(date, dayVo);
+        }
+        for (TodoStatusCountVo count : counts) {
+            TodoCalendarDayVo dayVo = days.get(count.getDate());
+            if (dayVo != null) {
+                dayVo.getStatusCounts().put(count.getStatus(), count.getCount());
+                dayVo.setTotal(dayVo.getTotal() + count.getCount());
+            }
+        }
+        return new ArrayList<>(days.values());
+    }
+    
+    /**
+     * 构建列表查询条件（权限、项目、分配人、状态、日期），不包含排序
+     */
+    QueryWrapper<Todo> buildListQueryWrapper(TodoQueryDto queryDto) {
+        QueryWrapper<Todo> queryWrapper = buildScopeQueryWrapper(queryDto.getUserId(), queryDto.getUserAuth(),
+                queryDto.getProjectId(), queryDto.getAssigneeId(), queryDto.getStatus());
+        
+        // 日期过滤逻辑
+        addDateFilter(queryWrapper, queryDto);
+        
+        return queryWrapper;
+    }
+    
+    /**
+     * 构建权限范围及项目、分配人、状态过滤条件，不包含日期和排序
+     */
+    private QueryWrapper<Todo> buildScopeQueryWrapper(Long userId, String userAuth, Long projectId,
+                                                      Long assigneeId, String status) {
         // 构建基础查询条件
         QueryWrapper<Todo> queryWrapper = new QueryWrapper<>();
         
         // 根据权限设置查询范围
-        if (!"admin".equals(queryDto.getUserAuth())) {
+        if (!"admin".equals(userAuth)) {
             // 普通用户只能查看分配给自己的待办事项
-            queryWrapper.eq("assignee_id", queryDto.getUserId());
+            queryWrapper.eq("assignee_id", userId);
         }
         
         // 项目ID过滤
-        if (queryDto.getProjectId() != null) {
-            queryWrapper.eq("project_id", queryDto.getProjectId());
+        if (projectId != null) {
+            queryWrapper.eq("project_id", projectId);
         }
         
         // 分配人ID过滤（管理员可以指定查看特定用户的任务）
-        if (queryDto.getAssigneeId() != null && "admin".equals(queryDto.getUserAuth())) {
-            queryWrapper.eq("assignee_id", queryDto.getAssigneeId());
+        if (assigneeId != null && "admin".equals(userAuth)) {
+            queryWrapper.eq("assignee_id", assigneeId);
         }
         
         // 状态过滤
-        if (queryDto.getStatus() != null) {
-            queryWrapper.eq("status", queryDto.getStatus());
+        if (status != null) {
+            queryWrapper.eq("status", status);
         }
         
-        // 日期过滤逻辑
-        addDateFilter(queryWrapper, queryDto);
-        
-        // 按开始时间排序
-        queryWrapper.orderByAsc("start_time", "created_time");
-        
-        List<Todo> todos = todoMapper.selectList(queryWrapper);
-        return todos.stream()
-                   .map(this::convertToTodoVo)
-                   .collect(java.util.stream.Collectors.toList());
+        return queryWrapper;
     }
     
     @Override
@@ -174,7 +846,12 @@ public class TodoServiceImpl implements TodoService {
             throw new RuntimeException("待办事项ID不能为空");
         }
         
-        TodoVo todoVo = todoMapper.getTodoDetail(queryDto.getTodoId());
+        TodoVo todoVo = todoDetailCache.get(queryDto.getTodoId(), todoMapper::getTodoDetail);
+        
+        // 活跃表中不存在且明确要求时再查询归档表
+        if (todoVo == null && Boolean.TRUE.equals(queryDto.getIncludeArchived())) {
+            todoVo = todoMapper.getArchivedTodoDetail(queryDto.getTodoId());
+        }
         
         if (todoVo == null) {
             throw new RuntimeException("待办事项不存在");
@@ -190,6 +867,7 @@ public class TodoServiceImpl implements TodoService {
     }
     
     @Override
+    @Transactional
     public TodoVo updateTodoStatus(TodoStatusUpdateDto statusUpdateDto) {
         if (statusUpdateDto.getTodoId() == null) {
             throw new RuntimeException("待办事项ID不能为空");
@@ -214,32 +892,36 @@ public class TodoServiceImpl implements TodoService {
         Todo todo = new Todo();
         todo.setId(statusUpdateDto.getTodoId());
         todo.setStatus(statusUpdateDto.getStatus());
+        todo.setVersion(expectedVersion(statusUpdateDto.getVersion(), existingTodo));
         todo.setUpdatedTime(LocalDateTime.now());
         
-        int result = todoMapper.updateById(todo);
+        // 权限条件放入UPDATE的WHERE中，读取后分配人被修改的情况不会越权；版本号条件由乐观锁插件追加
+        UpdateWrapper<Todo> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.eq("id", statusUpdateDto.getTodoId());
+        if (!"admin".equals(statusUpdateDto.getUserAuth())) {
+            updateWrapper.eq("assignee_id", statusUpdateDto.getUserId());
+        }
+        int result = todoMapper.update(todo, updateWrapper);
         
         if (result <= 0) {
-            throw new RuntimeException("待办事项状态更新失败");
+            throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
         }
+        // 以修改前数据合并本次修改作为返回结果，不再重新查询
+        Todo updatedTodo = mergeChanges(existingTodo, todo);
         
-        // 重新查询并转换为VO对象
-        Todo updatedTodo = todoMapper.selectById(statusUpdateDto.getTodoId());
-        
-        // 发送任务状态变更通知给管理员
-        try {
-            sendTaskStatusChangeNotification(updatedTodo, statusUpdateDto.getUserId());
-        } catch (Exception e) {
-            log.warn("发送任务状态变更通知失败: {}", e.getMessage());
-        }
+        // 事务提交后发送任务状态变更通知给管理员，并推送数据变更
+        eventPublisher.publishEvent(new TodoStatusChangedEvent(updatedTodo, statusUpdateDto.getUserId()));
+        eventPublisher.publishEvent(TodoChangedEvent.updated(existingTodo, updatedTodo, statusUpdateDto.getUserId()));
         
         return convertToTodoVo(updatedTodo);
     }
     
     @Override
+    @Transactional
     public TodoVo adminUpdateTodo(AdminTodoUpdateDto adminUpdateDto) {
         // 验证管理员权限
-        User admin = userMapper.selectById(adminUpdateDto.getAdminId());
-        if (admin == null || !"admin".equals(admin.getAuth())) {
+        UserSummary admin = userDirectory.get(adminUpdateDto.getAdminId());
+        if (admin == null || !admin.isAdmin()) {
             throw new RuntimeException("权限不足，只有管理员可以执行此操作");
         }
         
@@ -283,173 +965,260 @@ public class TodoServiceImpl implements TodoService {
             todo.setDueDate(adminUpdateDto.getDueDate());
         }
         
-        todo.setUpdatedTime(LocalDateTime.now());
+        todo.setVersion(expectedVersion(adminUpdateDto.getVersion(), existingTodo));
+        LocalDateTime now = LocalDateTime.now();
+        todo.setUpdatedTime(now);
+        boolean resetOverdue = isOverdueReset(existingTodo, todo.getDueDate(), now);
         
-        int result = todoMapper.updateById(todo);
+        // 版本号校验保证通知中的原始状态和原分配人就是被覆盖的值
+        int result = updateById(todo, resetOverdue);
         
         if (result <= 0) {
-            throw new RuntimeException("管理员修改待办事项失败");
+            throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
         }
+        recordReassignment(existingTodo, todo.getAssigneeId());
         
-        // 重新查询更新后的待办事项
-        Todo updatedTodo = todoMapper.selectById(adminUpdateDto.getTodoId());
-        
-        // 发送管理员修改通知
-        try {
-            sendAdminUpdateNotification(updatedTodo, admin, originalStatus, originalAssigneeId, adminUpdateDto.getUpdateReason());
-        } catch (Exception e) {
-            log.warn("发送管理员修改通知失败: {}", e.getMessage());
+        // 以修改前数据合并本次修改作为返回结果，不再重新查询
+        Todo updatedTodo = mergeChanges(existingTodo, todo);
+        if (resetOverdue) {
+            updatedTodo.setOverdueAt(null);
         }
         
+        // 事务提交后发送管理员修改通知
+        eventPublisher.publishEvent(new TodoAdminUpdatedEvent(updatedTodo, admin.getId(), admin.getUsername(),
+                originalStatus, originalAssigneeId, adminUpdateDto.getUpdateReason()));
+        eventPublisher.publishEvent(TodoChangedEvent.updated(existingTodo, updatedTodo, admin.getId()));
+        
         return convertToTodoVo(updatedTodo);
     }
 
+    
+    @Override
+    @Transactional
+    public OperationResultVo bulkUpdateTodos(TodoBulkUpdateDto bulkUpdateDto) {
+        boolean isAdmin = "admin".equals(bulkUpdateDto.getUserAuth());
+        boolean changeStatus = bulkUpdateDto.getStatus() != null && !bulkUpdateDto.getStatus().trim().isEmpty();
+        boolean changeAssignee = bulkUpdateDto.getAssigneeId() != null;
+        
+        if (!changeStatus && !changeAssignee) {
+            throw new RuntimeException("请指定新状态或新分配人");
+        }
+        // 权限验证：只有管理员可以重新分配，普通用户只能修改分配给自己的待办事项状态
+        if (changeAssignee && !isAdmin) {
+            throw new RuntimeException("权限不足，只有管理员可以重新分配待办事项");
+        }
+        boolean hasIds = bulkUpdateDto.getTodoIds() != null && !bulkUpdateDto.getTodoIds().isEmpty();
+        if (!hasIds && bulkUpdateDto.getProjectId() == null && bulkUpdateDto.getCurrentAssigneeId() == null
+                && bulkUpdateDto.getCurrentStatus() == null) {
+            throw new RuntimeException("请指定待办事项ID列表或筛选条件");
+        }
+        if (changeAssignee && userDirectory.get(bulkUpdateDto.getAssigneeId()) == null) {
+            throw new RuntimeException("分配人不存在");
+        }
+        
+        // 锁定并读取命中的待办事项，作为通知和缓存失效的依据
+        QueryWrapper<Todo> queryWrapper = new QueryWrapper<>();
+        queryWrapper.in(hasIds, "id", bulkUpdateDto.getTodoIds());
+        queryWrapper.eq(bulkUpdateDto.getProjectId() != null, "project_id", bulkUpdateDto.getProjectId());
+        queryWrapper.eq(bulkUpdateDto.getCurrentAssigneeId() != null, "assignee_id", bulkUpdateDto.getCurrentAssigneeId());
+        queryWrapper.eq(bulkUpdateDto.getCurrentStatus() != null, "status", bulkUpdateDto.getCurrentStatus());
+        queryWrapper.eq(!isAdmin, "assignee_id", bulkUpdateDto.getUserId());
+        queryWrapper.last("LIMIT " + (MAX_BULK_UPDATE_SIZE + 1) + " FOR UPDATE");
+        List<Todo> originalTodos = todoMapper.selectList(queryWrapper);
+        
+        if (originalTodos.isEmpty()) {
+            throw new RuntimeException("没有符合条件的待办事项");
+        }
+        if (originalTodos.size() > MAX_BULK_UPDATE_SIZE) {
+            throw new RuntimeException("符合条件的待办事项超过" + MAX_BULK_UPDATE_SIZE + "条，请缩小范围");
+        }
+        List<Long> todoIds = originalTodos.stream()
+                                          .map(Todo::getId)
+                                          .collect(Collectors.toList());
+        
+        // 一条UPDATE完成全部修改，版本号同步加一使并发的单条修改产生冲突
+        LocalDateTime now = LocalDateTime.now();
+        UpdateWrapper<Todo> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.set(changeStatus, "status", bulkUpdateDto.getStatus());
+        updateWrapper.set(changeAssignee, "assignee_id", bulkUpdateDto.getAssigneeId());
+        updateWrapper.set("updated_time", now);
+        updateWrapper.setSql("version = version + 1");
+        updateWrapper.in("id", todoIds);
+        int result = todoMapper.update(null, updateWrapper);
+        
+        // 重新分配时为原分配人记录墓碑
+        if (changeAssignee) {
+            List<TodoTombstone> tombstones = originalTodos.stream()
+                    .filter(todo -> todo.getAssigneeId() != null
+                            && !todo.getAssigneeId().equals(bulkUpdateDto.getAssigneeId()))
+                    .map(TodoTombstone::reassigned)
+                    .collect(Collectors.toList());
+            if (!tombstones.isEmpty()) {
+                todoTombstoneMapper.insertBatch(tombstones);
+            }
+        }
+        
+        // 事务提交后按受影响用户合并发送通知
+        eventPublisher.publishEvent(new TodosBulkUpdatedEvent(originalTodos,
+                changeStatus ? bulkUpdateDto.getStatus() : null,
+                bulkUpdateDto.getAssigneeId(), bulkUpdateDto.getUserId(), isAdmin,
+                bulkUpdateDto.getUpdateReason()));
+        for (Todo originalTodo : originalTodos) {
+            Todo changes = new Todo();
+            changes.setStatus(changeStatus ? bulkUpdateDto.getStatus() : null);
+            changes.setAssigneeId(bulkUpdateDto.getAssigneeId());
+            changes.setUpdatedTime(now);
+            changes.setVersion(originalTodo.getVersion() != null ? originalTodo.getVersion() + 1 : null);
+            eventPublisher.publishEvent(TodoChangedEvent.updated(originalTodo,
+                    mergeChanges(originalTodo, changes), bulkUpdateDto.getUserId()));
+        }
+        
+        OperationResultVo resultVo = new OperationResultVo();
+        resultVo.setSuccess(true);
+        resultVo.setMessage("已批量修改" + result + "项待办事项");
+        resultVo.setData(todoIds);
+        return resultVo;
+    }
+
+    @Override
+    @Transactional
+    public int archiveCompletedBatch(LocalDateTime cutoff, int batchSize) {
+        // 只归档完成时间和截止时间都早于截止点的待办，不影响默认日视图
+        QueryWrapper<Todo> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "project_id", "assignee_id")
+                    .eq("status", STATUS_COMPLETED)
+                    .lt("updated_time", cutoff)
+                    .lt("due_date", cutoff)
+                    .orderByAsc("updated_time", "id")
+                    .last("LIMIT " + batchSize + " FOR UPDATE");
+        List<Todo> todos = todoMapper.selectList(queryWrapper);
+        List<Long> todoIds = todos.stream()
+                .map(Todo::getId)
+                .collect(Collectors.toList());
+        if (todoIds.isEmpty()) {
+            return 0;
+        }
+        
+        // 数据本身不变，不发布变更事件（状态计数包含已归档的待办），只更新范围版本并在提交后清除详情缓存
+        todoMapper.copyToArchive(todoIds);
+        todoMapper.deleteBatchIds(todoIds);
+        eventPublisher.publishEvent(new TodosArchivedEvent(todos));
+        return todoIds.size();
+    }
+    
+    @Override
+    @Transactional
+    public List<Todo> markOverdueBatch(String status, LocalDateTime now, LocalDateTime afterDueDate, Long afterId,
+                                       int batchSize) {
+        // 锁定本批待办，保证事件中的修改前数据与UPDATE一致
+        QueryWrapper<Todo> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("status", status)
+                    .isNull("overdue_at")
+                    .lt("due_date", now);
+        if (afterDueDate != null) {
+            queryWrapper.and(w -> w.gt("due_date", afterDueDate)
+                                   .or(o -> o.eq("due_date", afterDueDate).gt("id", afterId)));
+        }
+        queryWrapper.orderByAsc("due_date", "id")
+                    .last("LIMIT " + batchSize + " FOR UPDATE");
+        List<Todo> originalTodos = todoMapper.selectList(queryWrapper);
+        if (originalTodos.isEmpty()) {
+            return originalTodos;
+        }
+        
+        List<Long> todoIds = originalTodos.stream()
+                .map(Todo::getId)
+                .collect(Collectors.toList());
+        UpdateWrapper<Todo> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.set("overdue_at", now)
+                     .set("updated_time", now)
+                     .setSql("version = version + 1")
+                     .in("id", todoIds);
+        todoMapper.update(null, updateWrapper);
+        
+        for (Todo originalTodo : originalTodos) {
+            Todo changes = new Todo();
+            changes.setOverdueAt(now);
+            changes.setUpdatedTime(now);
+            changes.setVersion(originalTodo.getVersion() != null ? originalTodo.getVersion() + 1 : null);
+            eventPublisher.publishEvent(TodoChangedEvent.updated(originalTodo,
+                    mergeChanges(originalTodo, changes), null));
+        }
+        return originalTodos;
+    }
 
     /**
      * 将Todo实体转换为TodoVo
      */
     private TodoVo convertToTodoVo(Todo todo) {
-        TodoVo todoVo = new TodoVo();
-        BeanUtils.copyProperties(todo, todoVo);
-        return todoVo;
+        return EntityVoConverter.convertToTodoVo(todo);
     }
     
     /**
-     * 发送待办创建通知
+     * 待办被重新分配给他人时为原分配人记录墓碑，使其增量同步时移除该待办
      */
-    private void sendTodoCreationNotification(Todo todo, Long adminId) {
-        try {
-            // 获取管理员信息
-            User admin = userMapper.selectById(adminId);
-            String adminName = admin != null ? admin.getUsername() : "管理员";
-            
-            // 如果待办有分配人，发送个人通知
-            if (todo.getAssigneeId() != null) {
-                User assignee = userMapper.selectById(todo.getAssigneeId());
-                if (assignee != null) {
-                    NotificationCreateDto notificationDto = new NotificationCreateDto();
-                    notificationDto.setTitle("新待办事项分配");
-                    notificationDto.setContent(String.format("您有新的待办事项：%s。优先级：%s，截止时间：%s", 
-                        todo.getTitle(), 
-                        todo.getPriority() != null ? todo.getPriority() : "普通",
-                        todo.getDueDate() != null ? todo.getDueDate().toString() : "未设置"));
-                    notificationDto.setType("personal");
-                    notificationDto.setPriority("high");
-                    notificationDto.setReceiverId(todo.getAssigneeId());
-                    notificationDto.setProjectId(todo.getProjectId());
-                    notificationDto.setPushImmediately(true);
-                    
-                    // 发送个人通知
-                    notificationService.createPersonalNotification(notificationDto, adminId, adminName);
-                    
-                    log.info("已为用户 {} 发送待办创建通知，待办：{}", assignee.getUsername(), todo.getTitle());
-                }
-            }
-            
-            // 如果待办属于某个项目，发送项目通知给项目成员
-            if (todo.getProjectId() != null) {
-                Project project = projectMapper.selectById(todo.getProjectId());
-                if (project != null) {
-                    NotificationCreateDto projectNotificationDto = new NotificationCreateDto();
-                    projectNotificationDto.setTitle("项目新待办事项");
-                    projectNotificationDto.setContent(String.format("项目 %s 有新的待办事项：%s", 
-                        project.getProjectName(), todo.getTitle()));
-                    projectNotificationDto.setType("project");
-                    projectNotificationDto.setPriority("normal");
-                    projectNotificationDto.setProjectId(todo.getProjectId());
-                    projectNotificationDto.setPushImmediately(true);
-                    
-                    // 发送项目通知
-                    notificationService.createProjectNotification(projectNotificationDto, adminId, adminName);
-                    
-                    log.info("已为项目 {} 发送待办创建通知，待办：{}", project.getProjectName(), todo.getTitle());
-                }
-            }
-            
-        } catch (Exception e) {
-            log.error("发送待办创建通知失败：{}", e.getMessage(), e);
+    private void recordReassignment(Todo existingTodo, Long newAssigneeId) {
+        if (newAssigneeId != null && existingTodo.getAssigneeId() != null
+                && !newAssigneeId.equals(existingTodo.getAssigneeId())) {
+            todoTombstoneMapper.insert(TodoTombstone.reassigned(existingTodo));
         }
     }
     
     /**
-     * 发送任务状态变更通知
+     * 将本次修改的非空字段合并到修改前的数据上，得到修改后的待办事项（不修改入参）
+     * 与 updateById 只更新非空字段的规则一致
      */
-    private void sendTaskStatusChangeNotification(Todo todo, Long operatorUserId) {
-        try {
-            // 获取操作用户信息
-            User operator = userMapper.selectById(operatorUserId);
-            if (operator == null) {
-                log.warn("操作用户不存在，ID: {}", operatorUserId);
-                return;
-            }
-            
-            // 获取任务分配者信息
-            User assignee = null;
-            if (todo.getAssigneeId() != null) {
-                assignee = userMapper.selectById(todo.getAssigneeId());
-            }
-            
-            // 查询所有管理员
-            List<User> adminUsers = getAllAdminUsers();
-            if (adminUsers.isEmpty()) {
-                log.warn("没有找到管理员用户");
-                return;
-            }
-            
-            // 构建通知内容
-            String statusText = getStatusText(todo.getStatus());
-            String operatorName = operator.getUsername();
-            String todoTitle = todo.getTitle();
-            
-            String notificationContent = String.format("%s将%s任务切换为%s状态", 
-                operatorName, todoTitle, statusText);
-            
-            // 为每个管理员发送个人通知
-            for (User admin : adminUsers) {
-                NotificationCreateDto notificationDto = new NotificationCreateDto();
-                notificationDto.setTitle("任务状态变更通知");
-                notificationDto.setContent(notificationContent);
-                notificationDto.setType("personal");
-                notificationDto.setPriority("normal");
-                notificationDto.setReceiverId(admin.getId());
-                notificationDto.setPushImmediately(true);
-                
-                // 发送个人通知
-                notificationService.createPersonalNotification(notificationDto, 
-                    operatorUserId, operatorName);
-                
-                log.info("已向管理员 {} 发送任务状态变更通知: {}", 
-                    admin.getUsername(), notificationContent);
-            }
-            
-        } catch (Exception e) {
-            log.error("发送任务状态变更通知失败：{}", e.getMessage(), e);
+    private Todo mergeChanges(Todo existingTodo, Todo changes) {
+        Todo merged = new Todo();
+        merged.setId(existingTodo.getId());
+        merged.setTitle(changes.getTitle() != null ? changes.getTitle() : existingTodo.getTitle());
+        merged.setDescription(changes.getDescription() != null ? changes.getDescription() : existingTodo.getDescription());
+        merged.setStatus(changes.getStatus() != null ? changes.getStatus() : existingTodo.getStatus());
+        merged.setPriority(changes.getPriority() != null ? changes.getPriority() : existingTodo.getPriority());
+        merged.setProjectId(changes.getProjectId() != null ? changes.getProjectId() : existingTodo.getProjectId());
+        merged.setAssigneeId(changes.getAssigneeId() != null ? changes.getAssigneeId() : existingTodo.getAssigneeId());
+        merged.setCreatorId(changes.getCreatorId() != null ? changes.getCreatorId() : existingTodo.getCreatorId());
+        merged.setStartTime(changes.getStartTime() != null ? changes.getStartTime() : existingTodo.getStartTime());
+        merged.setDueDate(changes.getDueDate() != null ? changes.getDueDate() : existingTodo.getDueDate());
+        merged.setOverdueAt(changes.getOverdueAt() != null ? changes.getOverdueAt() : existingTodo.getOverdueAt());
+        merged.setCreatedTime(existingTodo.getCreatedTime());
+        merged.setUpdatedTime(changes.getUpdatedTime() != null ? changes.getUpdatedTime() : existingTodo.getUpdatedTime());
+        // 更新成功后乐观锁插件已将新版本号写回 changes
+        merged.setVersion(changes.getVersion() != null ? changes.getVersion() : existingTodo.getVersion());
+        return merged;
+    }
+    
+    /**
+     * 确定本次更新校验的版本号：客户端传入时以其为准（读取后已被修改则直接冲突），否则使用刚读取的版本号
+     */
+    private Integer expectedVersion(Integer requestedVersion, Todo existingTodo) {
+        if (requestedVersion == null) {
+            return existingTodo.getVersion();
+        }
+        if (!requestedVersion.equals(existingTodo.getVersion())) {
+            throw new VersionConflictException(VERSION_CONFLICT_MESSAGE);
         }
+        return requestedVersion;
     }
     
     /**
-     * 获取所有管理员用户
+     * 已标记逾期的待办截止时间被延后到未来时清除逾期标记，之后再次逾期会重新标记并通知
      */
-    private List<User> getAllAdminUsers() {
-        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("auth", "admin");
-        return userMapper.selectList(queryWrapper);
+    private boolean isOverdueReset(Todo existingTodo, LocalDateTime newDueDate, LocalDateTime now) {
+        return existingTodo.getOverdueAt() != null && newDueDate != null && newDueDate.isAfter(now);
     }
     
     /**
-     * 获取状态的中文描述
+     * 按ID和版本号更新非空字段，需要时同时把逾期标记置空（updateById 不更新空字段）
      */
-    private String getStatusText(String status) {
-        switch (status) {
-            case "pending":
-                return "待处理";
-            case "in_progress":
-                return "进行中";
-            case "completed":
-                return "已完成";
-            default:
-                return status;
+    private int updateById(Todo todo, boolean resetOverdue) {
+        if (!resetOverdue) {
+            return todoMapper.updateById(todo);
         }
+        UpdateWrapper<Todo> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.set("overdue_at", null)
+                     .eq("id", todo.getId());
+        return todoMapper.update(todo, updateWrapper);
     }
     
     /**
@@ -473,124 +1242,30 @@ public class TodoServiceImpl implements TodoService {
         }
     }
     
-    /**
-     * 发送管理员修改通知
-     */
-    private void sendAdminUpdateNotification(Todo updatedTodo, User admin, String originalStatus, Long originalAssigneeId, String updateReason) {
-        try {
-            // 构建修改内容描述
-            StringBuilder changeDescription = new StringBuilder();
-            changeDescription.append("管理员 ").append(admin.getUsername()).append(" 修改了任务 \"").append(updatedTodo.getTitle()).append("\"");
-            
-            if (updateReason != null && !updateReason.trim().isEmpty()) {
-                changeDescription.append("，修改原因：").append(updateReason);
-            }
-            
-            // 如果状态发生变化，添加状态变更描述
-            if (!updatedTodo.getStatus().equals(originalStatus)) {
-                changeDescription.append("，状态从 ").append(getStatusText(originalStatus))
-                               .append(" 变更为 ").append(getStatusText(updatedTodo.getStatus()));
-            }
-            
-            // 如果分配人发生变化，添加分配人变更描述
-            if (!java.util.Objects.equals(updatedTodo.getAssigneeId(), originalAssigneeId)) {
-                User newAssignee = null;
-                User oldAssignee = null;
-                
-                if (updatedTodo.getAssigneeId() != null) {
-                    newAssignee = userMapper.selectById(updatedTodo.getAssigneeId());
-                }
-                if (originalAssigneeId != null) {
-                    oldAssignee = userMapper.selectById(originalAssigneeId);
-                }
-                
-                changeDescription.append("，分配人从 ")
-                               .append(oldAssignee != null ? oldAssignee.getUsername() : "未分配")
-                               .append(" 变更为 ")
-                               .append(newAssignee != null ? newAssignee.getUsername() : "未分配");
-            }
-            
-            // 发送通知给当前分配人（如果存在且不是管理员本人）
-            if (updatedTodo.getAssigneeId() != null && !updatedTodo.getAssigneeId().equals(admin.getId())) {
-                NotificationCreateDto assigneeNotification = new NotificationCreateDto();
-                assigneeNotification.setTitle("任务被管理员修改");
-                assigneeNotification.setContent(changeDescription.toString());
-                assigneeNotification.setType("personal");
-                assigneeNotification.setPriority("high");
-                assigneeNotification.setReceiverId(updatedTodo.getAssigneeId());
-                assigneeNotification.setProjectId(updatedTodo.getProjectId());
-                assigneeNotification.setPushImmediately(true);
-                
-                notificationService.createPersonalNotification(assigneeNotification, admin.getId(), admin.getUsername());
-                log.info("已向分配人发送管理员修改通知，任务：{}", updatedTodo.getTitle());
-            }
-            
-            // 如果原分配人发生变化且原分配人不是当前分配人和管理员，也发送通知
-            if (originalAssigneeId != null && !originalAssigneeId.equals(admin.getId()) 
-                && !java.util.Objects.equals(originalAssigneeId, updatedTodo.getAssigneeId())) {
-                NotificationCreateDto originalAssigneeNotification = new NotificationCreateDto();
-                originalAssigneeNotification.setTitle("您的任务被重新分配");
-                originalAssigneeNotification.setContent("任务 \"" + updatedTodo.getTitle() + "\" 已被管理员重新分配");
-                originalAssigneeNotification.setType("personal");
-                originalAssigneeNotification.setPriority("normal");
-                originalAssigneeNotification.setReceiverId(originalAssigneeId);
-                originalAssigneeNotification.setProjectId(updatedTodo.getProjectId());
-                originalAssigneeNotification.setPushImmediately(true);
-                
-                notificationService.createPersonalNotification(originalAssigneeNotification, admin.getId(), admin.getUsername());
-                log.info("已向原分配人发送任务重新分配通知，任务：{}", updatedTodo.getTitle());
-            }
-            
-            // 如果任务属于某个项目，发送项目通知
-            if (updatedTodo.getProjectId() != null) {
-                Project project = projectMapper.selectById(updatedTodo.getProjectId());
-                if (project != null) {
-                    NotificationCreateDto projectNotification = new NotificationCreateDto();
-                    projectNotification.setTitle("项目任务被管理员修改");
-                    projectNotification.setContent("项目 " + project.getProjectName() + " 中的" + changeDescription.toString());
-                    projectNotification.setType("project");
-                    projectNotification.setPriority("normal");
-                    projectNotification.setProjectId(updatedTodo.getProjectId());
-                    projectNotification.setPushImmediately(true);
-                    
-                    notificationService.createProjectNotification(projectNotification, admin.getId(), admin.getUsername());
-                    log.info("已发送项目任务修改通知，项目：{}，任务：{}", project.getProjectName(), updatedTodo.getTitle());
-                }
-            }
-            
-        } catch (Exception e) {
-            log.error("发送管理员修改通知失败：{}", e.getMessage(), e);
-        }
-    }
-    
     /**
      * 添加日期过滤条件
      */
     private void addDateFilter(QueryWrapper<Todo> queryWrapper, TodoQueryDto queryDto) {
-        java.time.LocalDate targetDate;
+        LocalDate targetDate;
         
         // 确定查询日期
         if (queryDto.getQueryDate() != null) {
             targetDate = queryDto.getQueryDate();
         } else {
             // 默认查询今天的数据
-            targetDate = java.time.LocalDate.now();
+            targetDate = LocalDate.now(clock);
         }
         
         // 如果不包括历史数据，则按日期过滤
         if (queryDto.getIncludeHistory() == null || !queryDto.getIncludeHistory()) {
             // 查询指定日期的待办事项
-            // 开始时间在指定日期，或者截止时间在指定日期，或者跨越指定日期的任务
+            // 时间区间 [start_time, due_date] 与当天有重叠：开始时间在当天、截止时间在当天或跨越当天的任务
+            // 改写为两个范围条件的AND；due_date 下界选择性高，复合索引以 due_date 为范围列，start_time 在索引内过滤
             LocalDateTime dayStart = targetDate.atStartOfDay();
             LocalDateTime dayEnd = targetDate.atTime(23, 59, 59);
             
-            queryWrapper.and(wrapper -> 
-                wrapper.between("start_time", dayStart, dayEnd)
-                       .or()
-                       .between("due_date", dayStart, dayEnd)
-                       .or()
-                       .and(w -> w.le("start_time", dayStart).ge("due_date", dayEnd))
-            );
+            queryWrapper.ge("due_date", dayStart)
+                        .le("start_time", dayEnd);
         }
         // 如果包括历史数据，则不添加日期过滤条件，显示所有数据
     }
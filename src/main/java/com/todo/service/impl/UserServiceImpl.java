@@ -2,6 +2,8 @@ package com.todo.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.todo.cache.UserDirectory;
+import com.todo.cache.UserRoster;
 import com.todo.dto.LoginDto;
 import com.todo.dto.ProfileUpdateDto;
 import com.todo.dto.RegisterDto;
@@ -9,15 +11,16 @@ import com.todo.dto.UserListQueryDto;
 import com.todo.entity.User;
 import com.todo.mapper.UserMapper;
 import com.todo.service.UserService;
+import com.todo.utils.ETags;
+import com.todo.utils.EntityVoConverter;
 import com.todo.vo.ProfileVo;
 import com.todo.vo.UserVo;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -25,6 +28,12 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserMapper userMapper;
     
+    @Autowired
+    private UserDirectory userDirectory;
+    
+    @Autowired
+    private UserRoster userRoster;
+    
     @Override
     public UserVo register(RegisterDto registerDto) {
         // 权限验证：检查是否有权限注册用户
@@ -54,6 +63,8 @@ public class UserServiceImpl implements UserService {
         if (result <= 0) {
             throw new RuntimeException("用户注册失败");
         }
+        userDirectory.refresh(user);
+        userRoster.invalidate();
         
         // 返回新创建的用户信息
         return convertToUserVo(user);
@@ -77,32 +88,28 @@ public class UserServiceImpl implements UserService {
     
     @Override
     public List<UserVo> getUserList(UserListQueryDto queryDto) {
-        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-        
+        // 从用户名册读取，不再按auth扫描users表
         if ("admin".equals(queryDto.getUserAuth())) {
             // 管理员可以查看所有普通用户
-            queryWrapper.eq("auth", "user");
+            return new ArrayList<>(userRoster.getUsersByAuth("user"));
         } else {
             // 普通用户可以查看所有管理员
-            queryWrapper.eq("auth", "admin");
+            return new ArrayList<>(userRoster.getUsersByAuth("admin"));
         }
-        
-        List<User> users = userMapper.selectList(queryWrapper);
-        
-        // 转换为VO对象列表
-        return users.stream()
-                   .map(this::convertToUserVo)
-                   .collect(Collectors.toList());
+    }
+    
+    @Override
+    public String getUserListETag(UserListQueryDto queryDto) {
+        // 用户列表来自用户名册，以名册快照标识作为校验值
+        return ETags.of("user-list", queryDto.getUserAuth(), userRoster.getSnapshotVersion());
     }
     
     /**
      * 将User实体转换为UserVo
      */
     private UserVo convertToUserVo(User user) {
-        UserVo userVo = new UserVo();
-        BeanUtils.copyProperties(user, userVo);
         // 不返回密码等敏感信息
-        return userVo;
+        return EntityVoConverter.convertToUserVo(user);
     }
     
     @Override
@@ -112,9 +119,7 @@ public class UserServiceImpl implements UserService {
             throw new RuntimeException("用户不存在");
         }
         
-        ProfileVo profileVo = new ProfileVo();
-        BeanUtils.copyProperties(user, profileVo);
-        return profileVo;
+        return EntityVoConverter.convertToProfileVo(user);
     }
     
     @Override
@@ -141,5 +146,7 @@ public class UserServiceImpl implements UserService {
         if (result == 0) {
             throw new RuntimeException("更新个人信息失败");
         }
+        userDirectory.evict(dto.getUserId());
+        userRoster.invalidate();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.todo.utils;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+/**
+ * ETag 工具类
+ * 由结果集的校验值（如数量、最大修改时间）和查询条件计算ETag，并处理 If-None-Match 比较。
+ * 校验值需在查询数据之前计算：数据比ETag新时客户端只会多拉取一次，反之会缓存旧数据。
+ */
+public class ETags {
+
+    /**
+     * 由若干组成部分计算强ETag（带双引号）
+     */
+    public static String of(Object... parts) {
+        StringJoiner joiner = new StringJoiner("|");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(joiner.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * 判断请求头 If-None-Match 是否与当前ETag匹配（支持逗号分隔的多个值、弱ETag前缀和*）
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.trim().isEmpty() || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
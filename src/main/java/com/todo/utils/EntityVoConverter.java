@@ -3,18 +3,20 @@ package com.todo.utils;
 import com.todo.entity.User;
 import com.todo.entity.Project;
 import com.todo.entity.Todo;
-import com.todo.entity.Notification;
+import com.todo.entity.TodoHistory;
+import com.todo.vo.ProfileVo;
 import com.todo.vo.UserVo;
 import com.todo.vo.ProjectVo;
 import com.todo.vo.TodoVo;
-import com.todo.vo.NotificationVo;
-import org.springframework.beans.BeanUtils;
+import com.todo.vo.TodoHistoryVo;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * 实体对象与VO对象转换工具类
+ * 逐字段调用getter/setter复制，不使用反射，列表接口每行的转换开销只有几次方法调用。
+ * 实体或VO新增字段时需要同步在这里补充。
  */
 public class EntityVoConverter {
     
@@ -26,7 +28,13 @@ public class EntityVoConverter {
             return null;
         }
         UserVo userVo = new UserVo();
-        BeanUtils.copyProperties(user, userVo);
+        userVo.setId(user.getId());
+        userVo.setUsername(user.getUsername());
+        userVo.setAuth(user.getAuth());
+        userVo.setRealName(user.getRealName());
+        userVo.setAvatar(user.getAvatar());
+        userVo.setCreatedTime(user.getCreatedTime());
+        userVo.setUpdatedTime(user.getUpdatedTime());
         // 不返回密码等敏感信息
         return userVo;
     }
@@ -43,6 +51,25 @@ public class EntityVoConverter {
                    .collect(Collectors.toList());
     }
     
+    /**
+     * 将User实体转换为ProfileVo
+     */
+    public static ProfileVo convertToProfileVo(User user) {
+        if (user == null) {
+            return null;
+        }
+        ProfileVo profileVo = new ProfileVo();
+        profileVo.setId(user.getId());
+        profileVo.setUsername(user.getUsername());
+        profileVo.setRealName(user.getRealName());
+        profileVo.setAvatar(user.getAvatar());
+        profileVo.setAuth(user.getAuth());
+        profileVo.setCreatedTime(user.getCreatedTime());
+        profileVo.setUpdatedTime(user.getUpdatedTime());
+        // 不返回密码等敏感信息
+        return profileVo;
+    }
+    
     /**
      * 将Project实体转换为ProjectVo
      */
@@ -51,7 +78,12 @@ public class EntityVoConverter {
             return null;
         }
         ProjectVo projectVo = new ProjectVo();
-        BeanUtils.copyProperties(project, projectVo);
+        projectVo.setId(project.getId());
+        projectVo.setProjectName(project.getProjectName());
+        projectVo.setProjectDescription(project.getProjectDescription());
+        projectVo.setCreatorId(project.getCreatorId());
+        projectVo.setCreatedTime(project.getCreatedTime());
+        projectVo.setUpdatedTime(project.getUpdatedTime());
         return projectVo;
     }
     
@@ -75,7 +107,22 @@ public class EntityVoConverter {
             return null;
         }
         TodoVo todoVo = new TodoVo();
-        BeanUtils.copyProperties(todo, todoVo);
+        todoVo.setId(todo.getId());
+        todoVo.setTitle(todo.getTitle());
+        todoVo.setDescription(todo.getDescription());
+        todoVo.setStatus(todo.getStatus());
+        todoVo.setPriority(todo.getPriority());
+        todoVo.setProjectId(todo.getProjectId());
+        todoVo.setAssigneeId(todo.getAssigneeId());
+        todoVo.setCreatorId(todo.getCreatorId());
+        todoVo.setStartTime(todo.getStartTime());
+        todoVo.setDueDate(todo.getDueDate());
+        todoVo.setCreatedTime(todo.getCreatedTime());
+        todoVo.setUpdatedTime(todo.getUpdatedTime());
+        todoVo.setVersion(todo.getVersion());
+        todoVo.setRecurrenceId(todo.getRecurrenceId());
+        todoVo.setOccurrenceDate(todo.getOccurrenceDate());
+        todoVo.setOverdueAt(todo.getOverdueAt());
         return todoVo;
     }
     
@@ -92,26 +139,21 @@ public class EntityVoConverter {
     }
     
     /**
-     * 将Notification实体转换为NotificationVo
-     */
-    public static NotificationVo convertToNotificationVo(Notification notification) {
-        if (notification == null) {
-            return null;
-        }
-        NotificationVo notificationVo = new NotificationVo();
-        BeanUtils.copyProperties(notification, notificationVo);
-        return notificationVo;
-    }
-    
-    /**
-     * 将Notification实体列表转换为NotificationVo列表
+     * 将TodoHistory实体转换为TodoHistoryVo（不含操作人姓名）
      */
-    public static List<NotificationVo> convertToNotificationVoList(List<Notification> notifications) {
-        if (notifications == null) {
+    public static TodoHistoryVo convertToTodoHistoryVo(TodoHistory history) {
+        if (history == null) {
             return null;
         }
-        return notifications.stream()
-                          .map(EntityVoConverter::convertToNotificationVo)
-                          .collect(Collectors.toList());
+        TodoHistoryVo historyVo = new TodoHistoryVo();
+        historyVo.setId(history.getId());
+        historyVo.setTodoId(history.getTodoId());
+        historyVo.setAction(history.getAction());
+        historyVo.setField(history.getField());
+        historyVo.setOldValue(history.getOldValue());
+        historyVo.setNewValue(history.getNewValue());
+        historyVo.setOperatorId(history.getOperatorId());
+        historyVo.setCreatedTime(history.getCreatedTime());
+        return historyVo;
     }
-} 
\ No newline at end of file
+}
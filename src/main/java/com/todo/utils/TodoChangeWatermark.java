@@ -0,0 +1,93 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 待办增量同步水位
+ * 由最后一条已返回待办的 (updated_time, id) 和最后一条已返回墓碑的ID组成，对客户端以不透明字符串形式传递
+ */
+@Data
+public class TodoChangeWatermark {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 已同步到的修改时间，为空表示从头开始
+     */
+    private LocalDateTime updatedTime;
+
+    /**
+     * 同一修改时间内已同步到的待办ID
+     */
+    private Long todoId;
+
+    /**
+     * 已同步到的墓碑ID
+     */
+    private Long tombstoneId;
+
+    /**
+     * 以上一次水位为基础，推进到指定待办之后
+     */
+    public TodoChangeWatermark advanceTo(Todo todo) {
+        TodoChangeWatermark watermark = copy();
+        watermark.setUpdatedTime(todo.getUpdatedTime());
+        watermark.setTodoId(todo.getId());
+        return watermark;
+    }
+
+    /**
+     * 以上一次水位为基础，推进到指定墓碑之后
+     */
+    public TodoChangeWatermark advanceTo(Long tombstoneId) {
+        TodoChangeWatermark watermark = copy();
+        watermark.setTombstoneId(tombstoneId);
+        return watermark;
+    }
+
+    private TodoChangeWatermark copy() {
+        TodoChangeWatermark watermark = new TodoChangeWatermark();
+        watermark.setUpdatedTime(updatedTime);
+        watermark.setTodoId(todoId);
+        watermark.setTombstoneId(tombstoneId);
+        return watermark;
+    }
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        String raw = (updatedTime != null ? updatedTime.toString() : "")
+                + SEPARATOR + (todoId != null ? todoId : 0L)
+                + SEPARATOR + (tombstoneId != null ? tombstoneId : 0L);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析客户端传回的水位，为空时返回null（表示首次全量同步）
+     */
+    public static TodoChangeWatermark decode(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(raw);
+            }
+            TodoChangeWatermark watermark = new TodoChangeWatermark();
+            watermark.setUpdatedTime(parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]));
+            watermark.setTodoId(Long.valueOf(parts[1]));
+            watermark.setTombstoneId(Long.valueOf(parts[2]));
+            return watermark;
+        } catch (Exception e) {
+            throw new RuntimeException("同步水位无效");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 待办事项分页游标
+ * 对应列表排序键 (start_time, created_time, id)，对客户端以不透明字符串形式传递
+ */
+@Data
+public class TodoCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime createdTime;
+
+    private Long id;
+
+    /**
+     * 以某条待办的排序键生成游标
+     */
+    public static TodoCursor of(Todo todo) {
+        TodoCursor cursor = new TodoCursor();
+        cursor.setStartTime(todo.getStartTime());
+        cursor.setCreatedTime(todo.getCreatedTime());
+        cursor.setId(todo.getId());
+        return cursor;
+    }
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        String raw = (startTime != null ? startTime.toString() : "")
+                + SEPARATOR + (createdTime != null ? createdTime.toString() : "")
+                + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析客户端传回的游标，为空时返回null（表示第一页）
+     */
+    public static TodoCursor decode(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException(raw);
+            }
+            TodoCursor cursor = new TodoCursor();
+            cursor.setStartTime(parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]));
+            cursor.setCreatedTime(LocalDateTime.parse(parts[1]));
+            cursor.setId(Long.valueOf(parts[2]));
+            return cursor;
+        } catch (Exception e) {
+            throw new RuntimeException("分页游标无效");
+        }
+    }
+}
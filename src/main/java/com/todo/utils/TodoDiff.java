@@ -0,0 +1,75 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 待办字段差异比较工具类
+ * 比较两个待办的业务字段（不含ID、创建时间、修改时间和版本号），字段名与TodoVo一致。
+ * 待办新增业务字段时需要同步在这里补充。
+ */
+public class TodoDiff {
+
+    private static final Map<String, Function<Todo, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("title", Todo::getTitle);
+        FIELDS.put("description", Todo::getDescription);
+        FIELDS.put("status", Todo::getStatus);
+        FIELDS.put("priority", Todo::getPriority);
+        FIELDS.put("projectId", Todo::getProjectId);
+        FIELDS.put("assigneeId", Todo::getAssigneeId);
+        FIELDS.put("creatorId", Todo::getCreatorId);
+        FIELDS.put("startTime", Todo::getStartTime);
+        FIELDS.put("dueDate", Todo::getDueDate);
+        FIELDS.put("overdueAt", Todo::getOverdueAt);
+    }
+
+    /**
+     * 比较修改前后的待办，返回发生变化的字段；before为null表示新建，after为null表示删除
+     */
+    public static List<FieldChange> compare(Todo before, Todo after) {
+        List<FieldChange> changes = new ArrayList<>();
+        for (Map.Entry<String, Function<Todo, Object>> field : FIELDS.entrySet()) {
+            Object oldValue = before != null ? field.getValue().apply(before) : null;
+            Object newValue = after != null ? field.getValue().apply(after) : null;
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.add(new FieldChange(field.getKey(), oldValue, newValue));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * 比较修改前后的待办，返回发生变化的字段及其新值
+     */
+    public static Map<String, Object> changedValues(Todo before, Todo after) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (FieldChange change : compare(before, after)) {
+            values.put(change.getField(), change.getNewValue());
+        }
+        return values;
+    }
+
+    /**
+     * 单个字段的变化
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class FieldChange {
+
+        private final String field;
+
+        private final Object oldValue;
+
+        private final Object newValue;
+    }
+}
@@ -0,0 +1,50 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+/**
+ * 缓存统计视图对象
+ */
+@Data
+public class CacheStatsVo {
+    
+    /**
+     * 缓存名称
+     */
+    private String name;
+    
+    /**
+     * 当前条目数
+     */
+    private Integer size;
+    
+    /**
+     * 最大条目数
+     */
+    private Integer maxSize;
+    
+    /**
+     * 命中次数
+     */
+    private Long hitCount;
+    
+    /**
+     * 未命中次数
+     */
+    private Long missCount;
+    
+    /**
+     * 淘汰次数（容量淘汰与过期淘汰）
+     */
+    private Long evictionCount;
+    
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+    
+    /**
+     * 估算占用内存（字节，未统计时为空）
+     */
+    private Long estimatedBytes;
+}
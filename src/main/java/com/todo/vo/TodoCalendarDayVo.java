@@ -0,0 +1,28 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 日历视图单日待办统计VO
+ */
+@Data
+public class TodoCalendarDayVo {
+    
+    /**
+     * 日期
+     */
+    private LocalDate date;
+    
+    /**
+     * 当天待办总数
+     */
+    private Long total;
+    
+    /**
+     * 各状态数量，key为状态（pending, in_progress, completed）
+     */
+    private Map<String, Long> statusCounts;
+}
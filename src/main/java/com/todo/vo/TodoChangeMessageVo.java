@@ -0,0 +1,40 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 待办变更推送内容
+ * TODO_CHANGED 消息的 content 为本类的列表，包含同一事务在该项目下的全部变更，按写入顺序排列。
+ * 客户端按 todoId 定位本地数据：CREATED 新增，UPDATED 用 changes 覆盖对应字段，DELETED 移除；
+ * 收到的 version 不大于本地版本时忽略该消息。
+ */
+@Data
+public class TodoChangeMessageVo {
+    
+    /**
+     * 变更类型：CREATED, UPDATED, DELETED
+     */
+    private String action;
+    
+    private Long todoId;
+    
+    private Long projectId;
+    
+    /**
+     * 变更后的版本号；删除时为删除前的版本号加一，移出项目时为移动后的版本号，均大于客户端本地版本
+     */
+    private Integer version;
+    
+    /**
+     * 变更后的修改时间
+     */
+    private LocalDateTime updatedTime;
+    
+    /**
+     * 发生变化的字段及新值，字段名与TodoVo一致；CREATED 时包含全部字段
+     */
+    private Map<String, Object> changes;
+}
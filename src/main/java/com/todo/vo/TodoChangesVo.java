@@ -0,0 +1,33 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 待办增量同步结果VO
+ * 客户端先移除 removedIds，再按ID覆盖 changed
+ */
+@Data
+public class TodoChangesVo {
+    
+    /**
+     * 水位之后新增或修改的待办
+     */
+    private List<TodoVo> changed;
+    
+    /**
+     * 水位之后被删除或移出可见范围的待办ID
+     */
+    private List<Long> removedIds;
+    
+    /**
+     * 下一次同步使用的水位
+     */
+    private String nextSince;
+    
+    /**
+     * 是否还有未返回的变更（为true时应立即用nextSince继续同步）
+     */
+    private Boolean hasMore;
+}
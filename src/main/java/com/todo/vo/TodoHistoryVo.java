@@ -0,0 +1,36 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待办变更历史视图对象
+ */
+@Data
+public class TodoHistoryVo {
+
+    private Long id;
+
+    private Long todoId;
+
+    /**
+     * 变更类型：CREATED, UPDATED, DELETED
+     */
+    private String action;
+
+    /**
+     * 修改的字段名（与TodoVo字段一致），新建和删除时为空
+     */
+    private String field;
+
+    private String oldValue;
+
+    private String newValue;
+
+    private Long operatorId;
+
+    private String operatorName;
+
+    private LocalDateTime createdTime;
+}
@@ -0,0 +1,27 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 待办事项分页视图对象（游标分页）
+ */
+@Data
+public class TodoPageVo {
+
+    /**
+     * 当前页数据
+     */
+    private List<TodoVo> records;
+
+    /**
+     * 下一页游标（没有更多数据时为空）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasMore;
+}
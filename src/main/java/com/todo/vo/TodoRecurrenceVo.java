@@ -0,0 +1,54 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 重复待办规则视图对象
+ */
+@Data
+public class TodoRecurrenceVo {
+    
+    private Long id;
+    
+    private String title;
+    
+    private String description;
+    
+    private String priority;
+    
+    private Long projectId;
+    
+    private Long assigneeId;
+    
+    private Long creatorId;
+    
+    private String frequency;
+    
+    private Integer interval;
+    
+    private List<Integer> daysOfWeek;
+    
+    private Integer dayOfMonth;
+    
+    private LocalTime startTimeOfDay;
+    
+    private LocalTime dueTimeOfDay;
+    
+    private LocalDate startDate;
+    
+    private LocalDate endDate;
+    
+    /**
+     * 已生成到的日期（含）
+     */
+    private LocalDate generatedUntil;
+    
+    private Boolean enabled;
+    
+    private LocalDateTime createdTime;
+}
@@ -0,0 +1,38 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+/**
+ * 项目或用户的待办状态统计VO
+ */
+@Data
+public class TodoStatsVo {
+    
+    /**
+     * 统计范围：project-项目，assignee-分配人
+     */
+    private String scopeType;
+    
+    /**
+     * 项目ID或用户ID
+     */
+    private Long scopeId;
+    
+    private Long pending;
+    
+    private Long inProgress;
+    
+    private Long completed;
+    
+    private Long overdue;
+    
+    private Long total;
+    
+    public TodoStatsVo() {
+        this.pending = 0L;
+        this.inProgress = 0L;
+        this.completed = 0L;
+        this.overdue = 0L;
+        this.total = 0L;
+    }
+}
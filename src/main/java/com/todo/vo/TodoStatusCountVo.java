@@ -0,0 +1,27 @@
+package com.todo.vo;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 待办状态计数（分组统计查询的单行结果）
+ */
+@Data
+public class TodoStatusCountVo {
+    
+    /**
+     * 日期（按日分组时有值）
+     */
+    private LocalDate date;
+    
+    /**
+     * 状态
+     */
+    private String status;
+    
+    /**
+     * 数量
+     */
+    private Long count;
+}
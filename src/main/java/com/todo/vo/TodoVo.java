@@ -2,6 +2,7 @@ package com.todo.vo;
 
 import lombok.Data;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -36,4 +37,15 @@ public class TodoVo {
     private LocalDateTime createdTime;
     
     private LocalDateTime updatedTime;
+    
+    private Integer version;
+    
+    private Long recurrenceId;
+    
+    private LocalDate occurrenceDate;
+    
+    /**
+     * 标记逾期的时间，未逾期或截止时间已延后时为空
+     */
+    private LocalDateTime overdueAt;
 }
@@ -0,0 +1,101 @@
+package com.todo.cache;
+
+import com.todo.entity.Todo;
+import com.todo.event.TodoChangedEvent;
+import com.todo.vo.TodoVo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodayTodoViewTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    /**
+     * UTC 3月10日16:30，业务时区已是3月11日00:30
+     */
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-10T16:30:00Z"));
+
+    private final TodayTodoView view = new TodayTodoView(10, 300, clock);
+
+    @Test
+    void todayIsTakenFromBusinessZone() {
+        view.get(7L, Collections::emptyList);
+
+        view.onTodoChanged(TodoChangedEvent.created(newTodo(1L, LocalDateTime.of(2026, 3, 10, 9, 0)), 1L));
+        view.onTodoChanged(TodoChangedEvent.created(newTodo(2L, LocalDateTime.of(2026, 3, 11, 9, 0)), 1L));
+
+        List<Long> ids = new ArrayList<>();
+        for (TodoVo todoVo : view.get(7L, () -> {
+            throw new AssertionError("视图已加载，不应重新加载");
+        })) {
+            ids.add(todoVo.getId());
+        }
+        assertThat(ids).containsExactly(2L);
+    }
+
+    @Test
+    void viewIsReloadedWhenBusinessDayChanges() {
+        view.get(7L, Collections::emptyList);
+        assertThat(view.getVersion(7L)).isNotNull();
+
+        // 业务时区的当天23:59:59，视图仍然有效
+        clock.instant = Instant.parse("2026-03-11T15:59:59Z");
+        assertThat(view.getVersion(7L)).isNotNull();
+
+        // 业务时区跨天（UTC 仍是3月11日）
+        clock.instant = Instant.parse("2026-03-11T16:00:00Z");
+        assertThat(view.getVersion(7L)).isNull();
+
+        List<TodoVo> reloaded = Collections.singletonList(new TodoVo());
+        assertThat(view.get(7L, () -> reloaded)).isSameAs(reloaded);
+    }
+
+    private static Todo newTodo(Long id, LocalDateTime startTime) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("todo-" + id);
+        todo.setStatus("pending");
+        todo.setProjectId(10L);
+        todo.setAssigneeId(7L);
+        todo.setStartTime(startTime);
+        todo.setDueDate(startTime.withHour(23).withMinute(59).withSecond(59));
+        todo.setCreatedTime(startTime);
+        return todo;
+    }
+
+    /**
+     * 可手动调整的测试时钟
+     */
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
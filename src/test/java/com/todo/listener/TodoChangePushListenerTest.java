@@ -0,0 +1,123 @@
+package com.todo.listener;
+
+import com.todo.dto.WebSocketMessageDto;
+import com.todo.entity.Todo;
+import com.todo.event.TodoChangedEvent;
+import com.todo.service.WebSocketService;
+import com.todo.vo.TodoChangeMessageVo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TodoChangePushListenerTest {
+
+    @Mock
+    private WebSocketService webSocketService;
+
+    @InjectMocks
+    private TodoChangePushListener listener;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(listener);
+    }
+
+    @Test
+    void deleteCarriesVersionAboveLastKnownVersion() {
+        Todo todo = newTodo(1L, 10L, 3);
+
+        listener.onTodoChanged(TodoChangedEvent.deleted(todo, 5L));
+
+        List<TodoChangeMessageVo> changes = sentTo(10L);
+        assertThat(changes).hasSize(1);
+        TodoChangeMessageVo change = changes.get(0);
+        assertThat(change.getAction()).isEqualTo(TodoChangedEvent.DELETED);
+        assertThat(change.getTodoId()).isEqualTo(1L);
+        assertThat(change.getVersion()).isEqualTo(4);
+        assertThat(change.getChanges()).isEmpty();
+    }
+
+    @Test
+    void moveBetweenProjectsDeletesFromOldAndCreatesInNewWithNewVersion() {
+        Todo before = newTodo(1L, 10L, 3);
+        Todo after = newTodo(1L, 20L, 4);
+
+        listener.onTodoChanged(TodoChangedEvent.updated(before, after, 5L));
+
+        List<TodoChangeMessageVo> oldProject = sentTo(10L);
+        assertThat(oldProject).hasSize(1);
+        assertThat(oldProject.get(0).getAction()).isEqualTo(TodoChangedEvent.DELETED);
+        assertThat(oldProject.get(0).getProjectId()).isEqualTo(10L);
+        assertThat(oldProject.get(0).getVersion()).isEqualTo(4);
+
+        List<TodoChangeMessageVo> newProject = sentTo(20L);
+        assertThat(newProject).hasSize(1);
+        assertThat(newProject.get(0).getAction()).isEqualTo(TodoChangedEvent.CREATED);
+        assertThat(newProject.get(0).getVersion()).isEqualTo(4);
+        assertThat(newProject.get(0).getChanges()).containsEntry("projectId", 20L);
+    }
+
+    @Test
+    void changesInOneTransactionAreSentOncePerProjectAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        listener.onTodoChanged(TodoChangedEvent.created(newTodo(1L, 10L, 0), 5L));
+        listener.onTodoChanged(TodoChangedEvent.created(newTodo(2L, 10L, 0), 5L));
+        listener.onTodoChanged(TodoChangedEvent.created(newTodo(3L, 20L, 0), 5L));
+
+        verify(webSocketService, never()).sendToProject(any(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(sentTo(10L)).extracting(TodoChangeMessageVo::getTodoId).containsExactly(1L, 2L);
+        assertThat(sentTo(20L)).extracting(TodoChangeMessageVo::getTodoId).containsExactly(3L);
+    }
+
+    @Test
+    void rolledBackTransactionSendsNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+        listener.onTodoChanged(TodoChangedEvent.created(newTodo(1L, 10L, 0), 5L));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(webSocketService, never()).sendToProject(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TodoChangeMessageVo> sentTo(Long projectId) {
+        ArgumentCaptor<WebSocketMessageDto> message = ArgumentCaptor.forClass(WebSocketMessageDto.class);
+        verify(webSocketService, times(1)).sendToProject(eq(projectId), message.capture());
+        assertThat(message.getValue().getType()).isEqualTo(TodoChangePushListener.MESSAGE_TYPE);
+        return (List<TodoChangeMessageVo>) message.getValue().getContent();
+    }
+
+    private Todo newTodo(Long id, Long projectId, int version) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("待办" + id);
+        todo.setStatus("pending");
+        todo.setProjectId(projectId);
+        todo.setVersion(version);
+        todo.setUpdatedTime(LocalDateTime.now());
+        return todo;
+    }
+}
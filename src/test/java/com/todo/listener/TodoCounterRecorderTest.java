@@ -0,0 +1,110 @@
+package com.todo.listener;
+
+import com.todo.entity.Todo;
+import com.todo.entity.TodoCounter;
+import com.todo.entity.TodoScopeVersion;
+import com.todo.event.TodoChangedEvent;
+import com.todo.event.TodosArchivedEvent;
+import com.todo.mapper.TodoCounterMapper;
+import com.todo.mapper.TodoScopeVersionMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TodoCounterRecorderTest {
+
+    @Mock
+    private TodoCounterMapper todoCounterMapper;
+
+    @Mock
+    private TodoScopeVersionMapper todoScopeVersionMapper;
+
+    @InjectMocks
+    private TodoCounterRecorder recorder;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(recorder);
+    }
+
+    @Test
+    void reassignBumpsOldAndNewScopesOncePerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        Todo before = newTodo(1L, 10L, 7L, "pending");
+        Todo after = newTodo(1L, 10L, 8L, "pending");
+
+        recorder.onTodoChanged(TodoChangedEvent.updated(before, after, 5L));
+        recorder.onTodoChanged(TodoChangedEvent.updated(after, after, 5L));
+        verify(todoScopeVersionMapper, never()).applyDeltas(any());
+        beforeCommit();
+
+        assertThat(writtenVersions()).extracting("scopeType", "scopeId", "version").containsExactly(
+                tuple(TodoCounter.SCOPE_ASSIGNEE, 7L, 1L),
+                tuple(TodoCounter.SCOPE_ASSIGNEE, 8L, 1L),
+                tuple(TodoCounter.SCOPE_PROJECT, 10L, 1L));
+    }
+
+    @Test
+    void archiveBumpsScopesWithoutChangingCounters() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        recorder.onTodosArchived(new TodosArchivedEvent(Arrays.asList(
+                newTodo(1L, 10L, 7L, null), newTodo(2L, 20L, null, null))));
+        beforeCommit();
+
+        assertThat(writtenVersions()).extracting("scopeType", "scopeId").containsExactly(
+                tuple(TodoCounter.SCOPE_ASSIGNEE, 7L),
+                tuple(TodoCounter.SCOPE_PROJECT, 10L),
+                tuple(TodoCounter.SCOPE_PROJECT, 20L));
+        verify(todoCounterMapper, never()).applyDeltas(any());
+    }
+
+    @Test
+    void writesImmediatelyOutsideTransaction() {
+        recorder.onTodosArchived(new TodosArchivedEvent(Collections.singletonList(newTodo(1L, 10L, 7L, null))));
+
+        assertThat(writtenVersions()).hasSize(2);
+    }
+
+    private void beforeCommit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TodoScopeVersion> writtenVersions() {
+        ArgumentCaptor<List<TodoScopeVersion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(todoScopeVersionMapper).applyDeltas(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Todo newTodo(Long id, Long projectId, Long assigneeId, String status) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setProjectId(projectId);
+        todo.setAssigneeId(assigneeId);
+        todo.setStatus(status);
+        return todo;
+    }
+}
@@ -0,0 +1,121 @@
+package com.todo.reminder;
+
+import com.todo.reminder.TimingWheel.TimerTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 时间轮单元测试：手动推进时钟，槽宽10、每层4个槽（第一层覆盖40，第二层覆盖160）
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private static final int WHEEL_SIZE = 4;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 0);
+
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void firesOnTickContainingExpiry() {
+        assertThat(wheel.add(task("a", 25))).isTrue();
+
+        advanceTo(19);
+        assertThat(fired).isEmpty();
+
+        advanceTo(20);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void startTimeIsRoundedDownToTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 7);
+
+        assertThat(wheel.add(task("due", 9))).isFalse();
+        assertThat(wheel.add(task("next", 10))).isTrue();
+
+        wheel.advanceTo(9, task -> fired.add(task.getPayload()));
+        assertThat(fired).isEmpty();
+        wheel.advanceTo(10, task -> fired.add(task.getPayload()));
+        assertThat(fired).containsExactly("next");
+    }
+
+    @Test
+    void taskAlreadyDueWhenAddedIsReturnedToCaller() {
+        advanceTo(100);
+
+        assertThat(wheel.add(task("past", 50))).isFalse();
+        assertThat(wheel.add(task("within-tick", 109))).isFalse();
+        assertThat(wheel.add(task("next-tick", 110))).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void overflowTaskCascadesIntoLowerWheel() {
+        assertThat(wheel.add(task("a", 135))).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        // 第二层槽在120到期后把任务降级放回第一层，130才真正到期
+        advanceTo(129);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        advanceTo(130);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void tasksAcrossSeveralWheelsFireInExpiryOrder() {
+        wheel.add(task("third-level", 700));
+        wheel.add(task("second-level", 300));
+        wheel.add(task("first-level", 30));
+
+        advanceTo(299);
+        assertThat(fired).containsExactly("first-level");
+
+        advanceTo(1000);
+        assertThat(fired).containsExactly("first-level", "second-level", "third-level");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledTaskIsDroppedWhenItsSlotExpires() {
+        TimerTask<String> cancelled = task("cancelled", 25);
+        TimerTask<String> cancelledInOverflow = task("cancelled-overflow", 135);
+        wheel.add(cancelled);
+        wheel.add(cancelledInOverflow);
+        wheel.add(task("kept", 25));
+
+        cancelled.cancel();
+        cancelledInOverflow.cancel();
+        assertThat(wheel.size()).isEqualTo(3);
+
+        advanceTo(200);
+        assertThat(fired).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void addingCancelledTaskIsNoOp() {
+        TimerTask<String> task = task("a", 25);
+        task.cancel();
+
+        assertThat(wheel.add(task)).isTrue();
+        assertThat(wheel.size()).isZero();
+    }
+
+    private void advanceTo(long nowMillis) {
+        wheel.advanceTo(nowMillis, task -> fired.add(task.getPayload()));
+    }
+
+    private static TimerTask<String> task(String payload, long expireAt) {
+        return new TimerTask<>(payload, expireAt);
+    }
+}
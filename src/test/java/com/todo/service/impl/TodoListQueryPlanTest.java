@@ -0,0 +1,179 @@
+package com.todo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.todo.dto.TodoQueryDto;
+import com.todo.entity.Todo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 日视图列表查询的执行计划回归测试
+ * 在 MySQL 8 容器中按顺序执行 database.sql 和各升级脚本建表，写入大量历史任务和少量当天任务，
+ * 对 buildListQueryWrapper 生成的条件执行 EXPLAIN，断言使用的索引和预估扫描行数，
+ * 防止日期范围条件退化为扫描全部历史数据。没有可用的Docker环境时跳过。
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TodoListQueryPlanTest {
+
+    /**
+     * 建表脚本，按上线顺序排列；database_cleanup.sql 去掉外键，测试数据无需插入用户和项目
+     */
+    private static final List<String> SCHEMA_SCRIPTS = Arrays.asList(
+            "database.sql",
+            "database_upgrade_add_start_time.sql",
+            "database_upgrade_add_profile_fields.sql",
+            "database_cleanup.sql",
+            "database_upgrade_add_todo_page_index.sql",
+            "database_upgrade_add_todo_version.sql",
+            "database_upgrade_todo_date_overlap_index.sql",
+            "database_upgrade_add_todo_tombstones.sql",
+            "database_upgrade_add_todo_counters.sql",
+            "database_upgrade_add_todo_fulltext.sql",
+            "database_upgrade_add_todo_reminder_log.sql",
+            "database_upgrade_add_overdue_sweep.sql",
+            "database_upgrade_add_todos_archive.sql",
+            "database_upgrade_add_todo_history.sql",
+            "database_upgrade_add_todo_recurrences.sql",
+            "database_upgrade_add_todo_scope_versions.sql");
+
+    private static final int HISTORY_ROWS = 60_000;
+
+    private static final int TODAY_ROWS = 100;
+
+    private static final int ASSIGNEES = 50;
+
+    private static final int PROJECTS = 20;
+
+    /** 预估行数上限：远小于单个用户的历史任务数（HISTORY_ROWS / ASSIGNEES） */
+    private static final long MAX_ROWS = HISTORY_ROWS / ASSIGNEES / 10;
+
+    private static final Pattern PARAM_PLACEHOLDER = Pattern.compile("#\\{ew\\.paramNameValuePairs\\.(\\w+)}");
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withUsername("root")
+            .withPassword("test");
+
+    private static Connection connection;
+
+    /** 数据库所在时区的当天日期，与写入数据时的 CURDATE() 一致 */
+    private static LocalDate today;
+
+    private final TodoServiceImpl todoService = new TodoServiceImpl();
+
+    @BeforeAll
+    static void createSchema() throws SQLException {
+        connection = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        for (String script : SCHEMA_SCRIPTS) {
+            ScriptUtils.executeSqlScript(connection,
+                    new EncodedResource(new FileSystemResource(script), StandardCharsets.UTF_8));
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION cte_max_recursion_depth = " + HISTORY_ROWS);
+
+            // 历史任务：过去两年内每天一批，均已在今天之前到期
+            statement.execute("INSERT INTO todos (title, status, project_id, assignee_id, creator_id, start_time, due_date) " +
+                    "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + HISTORY_ROWS + ") " +
+                    "SELECT CONCAT('history-', n), 'completed', n % " + PROJECTS + " + 1, n % " + ASSIGNEES + " + 1, 1, " +
+                    "TIMESTAMP(CURDATE() - INTERVAL (n % 720 + 1) DAY, '09:00:00'), " +
+                    "TIMESTAMP(CURDATE() - INTERVAL (n % 720 + 1) DAY, '23:59:59') FROM seq");
+            // 当天任务
+            statement.execute("INSERT INTO todos (title, status, project_id, assignee_id, creator_id, start_time, due_date) " +
+                    "WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + TODAY_ROWS + ") " +
+                    "SELECT CONCAT('today-', n), 'pending', n % " + PROJECTS + " + 1, n % " + ASSIGNEES + " + 1, 1, " +
+                    "TIMESTAMP(CURDATE(), '09:00:00'), TIMESTAMP(CURDATE(), '23:59:59') FROM seq");
+            statement.execute("ANALYZE TABLE todos");
+            try (ResultSet resultSet = statement.executeQuery("SELECT CURDATE()")) {
+                resultSet.next();
+                today = resultSet.getObject(1, LocalDate.class);
+            }
+        }
+    }
+
+    @AfterAll
+    static void closeConnection() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void userDayViewSeeksByAssigneeAndDueDate() throws SQLException {
+        TodoQueryDto queryDto = dayQuery("user");
+        queryDto.setUserId(7L);
+
+        assertPlan(queryDto, "idx_assignee_due_start");
+    }
+
+    @Test
+    void projectDayViewSeeksByProjectAndDueDate() throws SQLException {
+        TodoQueryDto queryDto = dayQuery("admin");
+        queryDto.setProjectId(3L);
+
+        assertPlan(queryDto, "idx_project_due_start");
+    }
+
+    @Test
+    void adminDayViewSeeksByDueDate() throws SQLException {
+        assertPlan(dayQuery("admin"), "idx_due_start");
+    }
+
+    private void assertPlan(TodoQueryDto queryDto, String expectedKey) throws SQLException {
+        QueryWrapper<Todo> queryWrapper = todoService.buildListQueryWrapper(queryDto);
+        queryWrapper.orderByAsc("start_time", "created_time", "id");
+
+        Map<String, Object> params = queryWrapper.getParamNameValuePairs();
+        List<Object> values = new ArrayList<>();
+        Matcher matcher = PARAM_PLACEHOLDER.matcher(queryWrapper.getCustomSqlSegment());
+        StringBuffer sql = new StringBuffer("EXPLAIN SELECT * FROM todos ");
+        while (matcher.find()) {
+            values.add(params.get(matcher.group(1)));
+            matcher.appendReplacement(sql, "?");
+        }
+        matcher.appendTail(sql);
+
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                assertThat(plan.next()).isTrue();
+                assertThat(plan.getString("type")).as("访问类型").isNotEqualTo("ALL");
+                assertThat(plan.getString("key")).as("使用的索引").isEqualTo(expectedKey);
+                assertThat(plan.getLong("rows")).as("预估扫描行数").isLessThanOrEqualTo(MAX_ROWS);
+            }
+        }
+    }
+
+    private static TodoQueryDto dayQuery(String userAuth) {
+        TodoQueryDto queryDto = new TodoQueryDto();
+        queryDto.setUserAuth(userAuth);
+        queryDto.setQueryDate(today);
+        return queryDto;
+    }
+}
@@ -0,0 +1,218 @@
+package com.todo.service.impl;
+
+import com.todo.cache.UserDirectory;
+import com.todo.entity.Todo;
+import com.todo.entity.TodoRecurrence;
+import com.todo.event.TodoChangedEvent;
+import com.todo.mapper.TodoMapper;
+import com.todo.mapper.TodoRecurrenceMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoRecurrenceServiceImplTest {
+
+    /**
+     * UTC 3月10日16:30，业务时区已是3月11日
+     */
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-10T16:30:00Z"), ZoneId.of("Asia/Shanghai"));
+
+    @Mock
+    private TodoRecurrenceMapper todoRecurrenceMapper;
+
+    @Mock
+    private TodoMapper todoMapper;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TodoRecurrenceServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "clock", CLOCK);
+    }
+
+    @Test
+    void dailyWithIntervalCountsDaysFromStartDate() {
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.DAILY, 3, date("2026-03-01"));
+
+        assertThat(service.occursOn(recurrence, date("2026-03-01"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-03-02"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-03-04"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-04-03"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-04-02"))).isFalse();
+    }
+
+    @Test
+    void weeklyWithIntervalCountsCalendarWeeks() {
+        // 2026-03-04 是周三，所在自然周从 03-02（周一）开始
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.WEEKLY, 2, date("2026-03-04"));
+        recurrence.setDaysOfWeek("1,4");
+
+        assertThat(service.occursOn(recurrence, date("2026-03-05"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-03-06"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-03-09"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-03-12"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-03-16"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-03-19"))).isTrue();
+    }
+
+    @Test
+    void monthlyOnDayBeyondMonthLengthFallsOnMonthEnd() {
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.MONTHLY, 1, date("2026-01-31"));
+        recurrence.setDayOfMonth(31);
+
+        assertThat(service.occursOn(recurrence, date("2026-01-31"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-02-27"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-02-28"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-03-30"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-03-31"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-04-30"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2028-02-28"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2028-02-29"))).isTrue();
+    }
+
+    @Test
+    void monthlyWithIntervalCountsMonthsFromStartMonth() {
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.MONTHLY, 2, date("2026-01-20"));
+        recurrence.setDayOfMonth(15);
+
+        assertThat(service.occursOn(recurrence, date("2026-02-15"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-03-15"))).isTrue();
+        assertThat(service.occursOn(recurrence, date("2026-03-16"))).isFalse();
+        assertThat(service.occursOn(recurrence, date("2026-05-15"))).isTrue();
+    }
+
+    @Test
+    void pastStartDateIsNotBackfilledBeforeTodayInBusinessZone() {
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.DAILY, 1, date("2026-03-01"));
+        when(todoRecurrenceMapper.selectList(any())).thenReturn(Collections.singletonList(recurrence));
+        when(todoMapper.selectList(any())).thenReturn(Collections.emptyList());
+
+        service.generateBatch(null, date("2026-03-13"), 100);
+
+        // 按JVM默认时区（UTC）会从 03-10 开始
+        assertThat(insertedDates()).containsExactly(date("2026-03-11"), date("2026-03-12"), date("2026-03-13"));
+        assertThat(recurrence.getGeneratedUntil()).isEqualTo(date("2026-03-13"));
+    }
+
+    @Test
+    void generationResumesAfterWatermarkAndStopsAtEndDate() {
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.DAILY, 1, date("2026-03-01"));
+        recurrence.setGeneratedUntil(date("2026-03-12"));
+        recurrence.setEndDate(date("2026-03-15"));
+        when(todoRecurrenceMapper.selectList(any())).thenReturn(Collections.singletonList(recurrence));
+        when(todoMapper.selectList(any())).thenReturn(Collections.emptyList());
+
+        service.generateBatch(null, date("2026-03-25"), 100);
+
+        assertThat(insertedDates()).containsExactly(date("2026-03-13"), date("2026-03-14"), date("2026-03-15"));
+        assertThat(recurrence.getGeneratedUntil()).isEqualTo(date("2026-03-15"));
+    }
+
+    @Test
+    void existingOccurrencesAreSkippedAndOnlyNewOnesPublished() {
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.DAILY, 1, date("2026-03-11"));
+        when(todoRecurrenceMapper.selectList(any())).thenReturn(Collections.singletonList(recurrence));
+        List<Todo> afterInsert = new ArrayList<>();
+        afterInsert.add(occurrence(1L, date("2026-03-11")));
+        afterInsert.add(occurrence(1L, date("2026-03-12")));
+        afterInsert.add(occurrence(1L, date("2026-03-13")));
+        when(todoMapper.selectList(any()))
+                .thenReturn(Collections.singletonList(occurrence(1L, date("2026-03-12"))))
+                .thenReturn(afterInsert);
+
+        service.generateBatch(null, date("2026-03-13"), 100);
+
+        assertThat(insertedDates()).containsExactly(date("2026-03-11"), date("2026-03-13"));
+        verify(eventPublisher, times(2)).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    void caughtUpRecurrenceInsertsNothing() {
+        TodoRecurrence recurrence = recurrence(TodoRecurrence.DAILY, 1, date("2026-03-01"));
+        recurrence.setGeneratedUntil(date("2026-03-13"));
+        when(todoRecurrenceMapper.selectList(any())).thenReturn(Collections.singletonList(recurrence));
+
+        service.generateBatch(null, date("2026-03-13"), 100);
+
+        verify(todoMapper, never()).insertOccurrences(any());
+        assertThat(recurrence.getGeneratedUntil()).isEqualTo(date("2026-03-13"));
+    }
+
+    @Test
+    void generateBatchReturnsNullWhenNoRecurrenceIsDue() {
+        when(todoRecurrenceMapper.selectList(any())).thenReturn(Collections.emptyList());
+
+        assertThat(service.generateBatch(null, date("2026-03-13"), 100)).isNull();
+        verify(todoMapper, never()).insertOccurrences(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LocalDate> insertedDates() {
+        ArgumentCaptor<List<Todo>> captor = ArgumentCaptor.forClass(List.class);
+        verify(todoMapper).insertOccurrences(captor.capture());
+        List<LocalDate> dates = new ArrayList<>();
+        for (Todo todo : captor.getValue()) {
+            assertThat(todo.getStartTime().toLocalDate()).isEqualTo(todo.getOccurrenceDate());
+            dates.add(todo.getOccurrenceDate());
+        }
+        return dates;
+    }
+
+    private static TodoRecurrence recurrence(String frequency, int interval, LocalDate startDate) {
+        TodoRecurrence recurrence = new TodoRecurrence();
+        recurrence.setId(1L);
+        recurrence.setTitle("周报");
+        recurrence.setPriority("medium");
+        recurrence.setProjectId(10L);
+        recurrence.setCreatorId(1L);
+        recurrence.setFrequency(frequency);
+        recurrence.setIntervalValue(interval);
+        recurrence.setStartTimeOfDay(LocalTime.of(9, 0));
+        recurrence.setDueTimeOfDay(LocalTime.of(23, 59, 59));
+        recurrence.setStartDate(startDate);
+        recurrence.setGeneratedUntil(startDate.minusDays(1));
+        recurrence.setEnabled(true);
+        return recurrence;
+    }
+
+    private static Todo occurrence(Long recurrenceId, LocalDate date) {
+        Todo todo = new Todo();
+        todo.setRecurrenceId(recurrenceId);
+        todo.setOccurrenceDate(date);
+        return todo;
+    }
+
+    private static LocalDate date(String value) {
+        return LocalDate.parse(value);
+    }
+}
@@ -0,0 +1,192 @@
+package com.todo.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.todo.dto.TodoChangesQueryDto;
+import com.todo.entity.Todo;
+import com.todo.entity.TodoTombstone;
+import com.todo.mapper.TodoMapper;
+import com.todo.mapper.TodoTombstoneMapper;
+import com.todo.utils.TodoChangeWatermark;
+import com.todo.vo.TodoChangesVo;
+import com.todo.vo.TodoVo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 增量同步：结算延迟截止点、墓碑（删除和重新分配）处理、水位推进
+ */
+@ExtendWith(MockitoExtension.class)
+class TodoServiceImplChangesTest {
+
+    private static final long SETTLE_SECONDS = 2;
+
+    private static final LocalDateTime SINCE_TIME = LocalDateTime.of(2026, 3, 11, 9, 0);
+
+    @Mock
+    private TodoMapper todoMapper;
+
+    @Mock
+    private TodoTombstoneMapper todoTombstoneMapper;
+
+    @InjectMocks
+    private TodoServiceImpl todoService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(todoService, "syncSettleSeconds", SETTLE_SECONDS);
+    }
+
+    @Test
+    void onlyChangesOlderThanSettleWindowAreRead() {
+        when(todoMapper.selectList(any())).thenReturn(Collections.emptyList());
+        when(todoTombstoneMapper.selectList(any())).thenReturn(Collections.emptyList());
+
+        LocalDateTime before = LocalDateTime.now();
+        todoService.getTodoChanges(changesQuery("user", 7L, since(SINCE_TIME, 5L, 3L)));
+        LocalDateTime after = LocalDateTime.now();
+
+        QueryWrapper<Todo> todoWrapper = capturedTodoWrapper();
+        assertThat(todoWrapper.getSqlSegment()).contains("updated_time <=");
+        assertThat(settledUntil(todoWrapper)).isBetween(before.minusSeconds(SETTLE_SECONDS),
+                after.minusSeconds(SETTLE_SECONDS));
+
+        QueryWrapper<TodoTombstone> tombstoneWrapper = capturedTombstoneWrapper();
+        assertThat(tombstoneWrapper.getSqlSegment()).contains("created_time <=");
+        assertThat(settledUntil(tombstoneWrapper)).isEqualTo(settledUntil(todoWrapper));
+    }
+
+    @Test
+    void userReceivesReassignedAndDeletedTombstonesButNotTodosReassignedBack() {
+        Todo reassignedBack = newTodo(11L, SINCE_TIME.plusMinutes(1));
+        Todo edited = newTodo(12L, SINCE_TIME.plusMinutes(2));
+        when(todoMapper.selectList(any())).thenReturn(Arrays.asList(reassignedBack, edited));
+        when(todoTombstoneMapper.selectList(any())).thenReturn(Arrays.asList(
+                tombstone(21L, 10L, TodoTombstone.REASON_REASSIGNED),
+                tombstone(22L, 11L, TodoTombstone.REASON_REASSIGNED),
+                tombstone(23L, 13L, TodoTombstone.REASON_DELETED),
+                tombstone(24L, 10L, TodoTombstone.REASON_REASSIGNED)));
+
+        TodoChangesVo changes = todoService.getTodoChanges(changesQuery("user", 7L, since(SINCE_TIME, 5L, 20L)));
+
+        QueryWrapper<TodoTombstone> tombstoneWrapper = capturedTombstoneWrapper();
+        assertThat(tombstoneWrapper.getSqlSegment()).contains("assignee_id =").doesNotContain("reason =");
+        assertThat(tombstoneWrapper.getParamNameValuePairs()).containsValues(20L, 7L);
+
+        assertThat(changes.getChanged()).extracting(TodoVo::getId).containsExactly(11L, 12L);
+        assertThat(changes.getRemovedIds()).containsExactly(10L, 13L);
+        TodoChangeWatermark next = TodoChangeWatermark.decode(changes.getNextSince());
+        assertThat(next.getUpdatedTime()).isEqualTo(edited.getUpdatedTime());
+        assertThat(next.getTodoId()).isEqualTo(12L);
+        assertThat(next.getTombstoneId()).isEqualTo(24L);
+        assertThat(changes.getHasMore()).isFalse();
+    }
+
+    @Test
+    void adminOnlyReceivesDeleteTombstones() {
+        when(todoMapper.selectList(any())).thenReturn(Collections.emptyList());
+        when(todoTombstoneMapper.selectList(any())).thenReturn(Collections.singletonList(
+                tombstone(30L, 13L, TodoTombstone.REASON_DELETED)));
+
+        TodoChangesVo changes = todoService.getTodoChanges(changesQuery("admin", 1L, since(SINCE_TIME, 5L, 20L)));
+
+        QueryWrapper<TodoTombstone> tombstoneWrapper = capturedTombstoneWrapper();
+        assertThat(tombstoneWrapper.getSqlSegment()).contains("reason =").doesNotContain("assignee_id =");
+        assertThat(tombstoneWrapper.getParamNameValuePairs()).containsValue(TodoTombstone.REASON_DELETED);
+        assertThat(changes.getRemovedIds()).containsExactly(13L);
+        // 没有新的待办时保留原有的待办水位
+        TodoChangeWatermark next = TodoChangeWatermark.decode(changes.getNextSince());
+        assertThat(next.getUpdatedTime()).isEqualTo(SINCE_TIME);
+        assertThat(next.getTodoId()).isEqualTo(5L);
+        assertThat(next.getTombstoneId()).isEqualTo(30L);
+    }
+
+    @Test
+    void initialSyncSkipsExistingTombstones() {
+        TodoTombstone latest = new TodoTombstone();
+        latest.setId(99L);
+        when(todoTombstoneMapper.selectOne(any())).thenReturn(latest);
+        when(todoMapper.selectList(any())).thenReturn(Collections.emptyList());
+
+        TodoChangesVo changes = todoService.getTodoChanges(changesQuery("user", 7L, null));
+
+        verify(todoTombstoneMapper, never()).selectList(any());
+        assertThat(changes.getRemovedIds()).isEmpty();
+        assertThat(TodoChangeWatermark.decode(changes.getNextSince()).getTombstoneId()).isEqualTo(99L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private QueryWrapper<Todo> capturedTodoWrapper() {
+        ArgumentCaptor<QueryWrapper<Todo>> captor = ArgumentCaptor.forClass(QueryWrapper.class);
+        verify(todoMapper).selectList(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private QueryWrapper<TodoTombstone> capturedTombstoneWrapper() {
+        ArgumentCaptor<QueryWrapper<TodoTombstone>> captor = ArgumentCaptor.forClass(QueryWrapper.class);
+        verify(todoTombstoneMapper).selectList(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * 条件中唯一不等于水位时间的时间参数即结算截止点
+     */
+    private static LocalDateTime settledUntil(QueryWrapper<?> queryWrapper) {
+        return queryWrapper.getParamNameValuePairs().values().stream()
+                .filter(LocalDateTime.class::isInstance)
+                .map(LocalDateTime.class::cast)
+                .filter(value -> !value.equals(SINCE_TIME))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+    }
+
+    private static String since(LocalDateTime updatedTime, Long todoId, Long tombstoneId) {
+        TodoChangeWatermark watermark = new TodoChangeWatermark();
+        watermark.setUpdatedTime(updatedTime);
+        watermark.setTodoId(todoId);
+        watermark.setTombstoneId(tombstoneId);
+        return watermark.encode();
+    }
+
+    private static TodoChangesQueryDto changesQuery(String userAuth, Long userId, String since) {
+        TodoChangesQueryDto queryDto = new TodoChangesQueryDto();
+        queryDto.setUserAuth(userAuth);
+        queryDto.setUserId(userId);
+        queryDto.setSince(since);
+        return queryDto;
+    }
+
+    private static Todo newTodo(Long id, LocalDateTime updatedTime) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle("todo-" + id);
+        todo.setAssigneeId(7L);
+        todo.setUpdatedTime(updatedTime);
+        return todo;
+    }
+
+    private static TodoTombstone tombstone(Long id, Long todoId, String reason) {
+        TodoTombstone tombstone = new TodoTombstone();
+        tombstone.setId(id);
+        tombstone.setTodoId(todoId);
+        tombstone.setAssigneeId(7L);
+        tombstone.setReason(reason);
+        return tombstone;
+    }
+}
@@ -0,0 +1,66 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import com.todo.vo.TodoVo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 逐字段转换与 BeanUtils 反射复制的每行耗时对比
+ * 结果受机器负载影响，默认构建不执行，使用 mvn test -Pbenchmark 运行
+ */
+@Tag("benchmark")
+class EntityVoConverterBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+
+    private static final int ROUNDS = 20;
+
+    @Test
+    void explicitTodoMapperIsFasterPerRow() {
+        List<Todo> todos = new ArrayList<>(ROWS);
+        for (long i = 0; i < ROWS; i++) {
+            todos.add(EntityVoConverterTest.newTodo(i));
+        }
+        Function<Todo, TodoVo> reflective = todo -> {
+            TodoVo todoVo = new TodoVo();
+            BeanUtils.copyProperties(todo, todoVo);
+            return todoVo;
+        };
+
+        // 预热，使两种方式都经过JIT编译
+        measure(todos, reflective);
+        measure(todos, EntityVoConverter::convertToTodoVo);
+
+        double reflectiveNanos = measure(todos, reflective);
+        double explicitNanos = measure(todos, EntityVoConverter::convertToTodoVo);
+
+        assertThat(explicitNanos)
+                .as("TodoVo转换每行耗时: BeanUtils %.1f ns, 逐字段 %.1f ns", reflectiveNanos, explicitNanos)
+                .isLessThan(reflectiveNanos);
+    }
+
+    /**
+     * 返回每行平均耗时（纳秒），取多轮中的最小值以减少GC等干扰
+     */
+    private double measure(List<Todo> todos, Function<Todo, TodoVo> converter) {
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (Todo todo : todos) {
+                checksum += converter.apply(todo).getId();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        assertThat(checksum).isPositive();
+        return (double) best / todos.size();
+    }
+}
@@ -0,0 +1,87 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import com.todo.entity.TodoHistory;
+import com.todo.entity.User;
+import com.todo.vo.TodoHistoryVo;
+import com.todo.vo.TodoVo;
+import com.todo.vo.UserVo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 逐字段转换与 BeanUtils 反射复制的结果一致性
+ * 源对象的每个字段都赋非空值，VO 新增字段而转换器漏写时比较失败
+ */
+class EntityVoConverterTest {
+
+    @Test
+    void todoMapperMatchesBeanUtils() {
+        Todo todo = newTodo(1L);
+        TodoVo copied = new TodoVo();
+        BeanUtils.copyProperties(todo, copied);
+
+        assertThat(EntityVoConverter.convertToTodoVo(todo)).isEqualTo(copied);
+    }
+
+    @Test
+    void userMapperMatchesBeanUtilsWithoutPassword() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("user1");
+        user.setPassword("secret");
+        user.setAuth("user");
+        user.setRealName("张三");
+        user.setAvatar("avatar.png");
+        user.setCreatedTime(LocalDateTime.now());
+        user.setUpdatedTime(LocalDateTime.now());
+        UserVo copied = new UserVo();
+        BeanUtils.copyProperties(user, copied);
+
+        assertThat(EntityVoConverter.convertToUserVo(user)).isEqualTo(copied);
+    }
+
+    @Test
+    void historyMapperMatchesBeanUtils() {
+        TodoHistory history = new TodoHistory();
+        history.setId(1L);
+        history.setTodoId(2L);
+        history.setProjectId(3L);
+        history.setAction("UPDATED");
+        history.setField("status");
+        history.setOldValue("pending");
+        history.setNewValue("completed");
+        history.setOperatorId(4L);
+        history.setCreatedTime(LocalDateTime.now());
+        TodoHistoryVo copied = new TodoHistoryVo();
+        BeanUtils.copyProperties(history, copied);
+
+        assertThat(EntityVoConverter.convertToTodoHistoryVo(history)).isEqualTo(copied);
+    }
+
+    static Todo newTodo(long id) {
+        Todo todo = new Todo();
+        todo.setId(id + 1);
+        todo.setTitle("待办" + id);
+        todo.setDescription("描述" + id);
+        todo.setStatus("pending");
+        todo.setPriority("medium");
+        todo.setProjectId(1L);
+        todo.setAssigneeId(2L);
+        todo.setCreatorId(1L);
+        todo.setStartTime(LocalDateTime.now());
+        todo.setDueDate(LocalDateTime.now().plusDays(1));
+        todo.setCreatedTime(LocalDateTime.now());
+        todo.setUpdatedTime(LocalDateTime.now());
+        todo.setVersion(0);
+        todo.setRecurrenceId(3L);
+        todo.setOccurrenceDate(LocalDate.now());
+        todo.setOverdueAt(LocalDateTime.now());
+        return todo;
+    }
+}
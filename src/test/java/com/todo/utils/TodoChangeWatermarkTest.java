@@ -0,0 +1,73 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoChangeWatermarkTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        TodoChangeWatermark watermark = new TodoChangeWatermark();
+        watermark.setUpdatedTime(LocalDateTime.of(2026, 3, 11, 9, 30, 15, 123_000_000));
+        watermark.setTodoId(42L);
+        watermark.setTombstoneId(7L);
+
+        assertThat(TodoChangeWatermark.decode(watermark.encode())).isEqualTo(watermark);
+    }
+
+    @Test
+    void initialWatermarkRoundTripsWithoutUpdatedTime() {
+        TodoChangeWatermark watermark = new TodoChangeWatermark();
+        watermark.setTodoId(0L);
+        watermark.setTombstoneId(15L);
+
+        TodoChangeWatermark decoded = TodoChangeWatermark.decode(watermark.encode());
+        assertThat(decoded.getUpdatedTime()).isNull();
+        assertThat(decoded.getTodoId()).isZero();
+        assertThat(decoded.getTombstoneId()).isEqualTo(15L);
+    }
+
+    @Test
+    void emptyValueMeansInitialSync() {
+        assertThat(TodoChangeWatermark.decode(null)).isNull();
+        assertThat(TodoChangeWatermark.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedValueIsRejected() {
+        assertThatThrownBy(() -> TodoChangeWatermark.decode("not-a-watermark"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("同步水位无效");
+        // 分页游标同样是三段，但第二段不是ID
+        TodoCursor cursor = new TodoCursor();
+        cursor.setCreatedTime(LocalDateTime.of(2026, 3, 11, 9, 0));
+        cursor.setId(1L);
+        assertThatThrownBy(() -> TodoChangeWatermark.decode(cursor.encode()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("同步水位无效");
+    }
+
+    @Test
+    void advanceReturnsNewWatermarkAndKeepsOtherPart() {
+        TodoChangeWatermark since = new TodoChangeWatermark();
+        since.setTodoId(0L);
+        since.setTombstoneId(3L);
+        Todo todo = new Todo();
+        todo.setId(9L);
+        todo.setUpdatedTime(LocalDateTime.of(2026, 3, 11, 10, 0));
+
+        TodoChangeWatermark next = since.advanceTo(todo).advanceTo(5L);
+
+        assertThat(next.getUpdatedTime()).isEqualTo(todo.getUpdatedTime());
+        assertThat(next.getTodoId()).isEqualTo(9L);
+        assertThat(next.getTombstoneId()).isEqualTo(5L);
+        assertThat(since.getUpdatedTime()).isNull();
+        assertThat(since.getTodoId()).isZero();
+        assertThat(since.getTombstoneId()).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,54 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        Todo todo = new Todo();
+        todo.setId(42L);
+        todo.setStartTime(LocalDateTime.of(2026, 3, 11, 9, 0));
+        todo.setCreatedTime(LocalDateTime.of(2026, 3, 10, 18, 5, 30, 500_000_000));
+
+        TodoCursor cursor = TodoCursor.of(todo);
+
+        assertThat(TodoCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void cursorWithoutStartTimeRoundTrips() {
+        TodoCursor cursor = new TodoCursor();
+        cursor.setCreatedTime(LocalDateTime.of(2026, 3, 10, 18, 5));
+        cursor.setId(3L);
+
+        TodoCursor decoded = TodoCursor.decode(cursor.encode());
+        assertThat(decoded.getStartTime()).isNull();
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void emptyValueMeansFirstPage() {
+        assertThat(TodoCursor.decode(null)).isNull();
+        assertThat(TodoCursor.decode("")).isNull();
+    }
+
+    @Test
+    void malformedValueIsRejected() {
+        TodoCursor missingCreatedTime = new TodoCursor();
+        missingCreatedTime.setId(3L);
+
+        assertThatThrownBy(() -> TodoCursor.decode(missingCreatedTime.encode()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("分页游标无效");
+        assertThatThrownBy(() -> TodoCursor.decode("%%%"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("分页游标无效");
+    }
+}
@@ -0,0 +1,65 @@
+package com.todo.utils;
+
+import com.todo.entity.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TodoDiffTest {
+
+    @Test
+    void reassignReportsOnlyAssigneeAndIgnoresBookkeepingFields() {
+        Todo before = newTodo();
+        Todo after = newTodo();
+        after.setAssigneeId(8L);
+        after.setVersion(before.getVersion() + 1);
+        after.setUpdatedTime(before.getUpdatedTime().plusMinutes(1));
+
+        assertThat(TodoDiff.compare(before, after))
+                .extracting("field", "oldValue", "newValue")
+                .containsExactly(tuple("assigneeId", 7L, 8L));
+    }
+
+    @Test
+    void createReportsAllSetFieldsAsNewValues() {
+        Map<String, Object> values = TodoDiff.changedValues(null, newTodo());
+
+        assertThat(values).containsOnlyKeys("title", "status", "priority", "projectId", "assigneeId",
+                "creatorId", "startTime", "dueDate");
+        assertThat(values).containsEntry("assigneeId", 7L);
+    }
+
+    @Test
+    void deleteReportsAllSetFieldsWithNullNewValues() {
+        assertThat(TodoDiff.compare(newTodo(), null))
+                .allSatisfy(change -> assertThat(change.getNewValue()).isNull())
+                .extracting("field")
+                .contains("title", "assigneeId");
+    }
+
+    @Test
+    void unchangedTodoHasNoDifferences() {
+        assertThat(TodoDiff.compare(newTodo(), newTodo())).isEmpty();
+    }
+
+    private static Todo newTodo() {
+        Todo todo = new Todo();
+        todo.setId(1L);
+        todo.setTitle("周报");
+        todo.setStatus("pending");
+        todo.setPriority("medium");
+        todo.setProjectId(10L);
+        todo.setAssigneeId(7L);
+        todo.setCreatorId(1L);
+        todo.setStartTime(LocalDateTime.of(2026, 3, 11, 9, 0));
+        todo.setDueDate(LocalDateTime.of(2026, 3, 11, 23, 59, 59));
+        todo.setVersion(3);
+        todo.setCreatedTime(LocalDateTime.of(2026, 3, 1, 8, 0));
+        todo.setUpdatedTime(LocalDateTime.of(2026, 3, 10, 8, 0));
+        return todo;
+    }
+}